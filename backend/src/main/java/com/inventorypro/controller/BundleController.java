@@ -0,0 +1,23 @@
+package com.inventorypro.controller;
+
+import com.inventorypro.dto.response.BundleStockResponse;
+import com.inventorypro.service.BundleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/bundles")
+public class BundleController {
+
+    @Autowired
+    private BundleService bundleService;
+
+    @GetMapping
+    public ResponseEntity<List<BundleStockResponse>> getBundles() {
+        return ResponseEntity.ok(bundleService.listBundleStock());
+    }
+}
@@ -1,12 +1,16 @@
 package com.inventorypro.controller;
 
 import com.inventorypro.dto.response.DashboardStatsResponse;
+import com.inventorypro.model.Order;
 import com.inventorypro.service.DashboardService;
+import com.inventorypro.service.SalesRollupService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +23,9 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private SalesRollupService salesRollupService;
+
     @GetMapping("/stats")
     public ResponseEntity<DashboardStatsResponse> getDashboardStats() {
         DashboardStatsResponse stats = dashboardService.getDashboardStats();
@@ -28,11 +35,22 @@ public class DashboardController {
     @GetMapping("/sales-data")
     public ResponseEntity<List<Map<String, Object>>> getSalesData(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<Map<String, Object>> salesData = dashboardService.getSalesData(startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "month") String interval,
+            @RequestParam(required = false) Order.OrderChannel channel) {
+        List<Map<String, Object>> salesData = dashboardService.getSalesData(startDate, endDate, interval, channel);
         return ResponseEntity.ok(salesData);
     }
 
+    @PostMapping("/sales-rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildSalesRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        long orders = salesRollupService.rebuild(from, to);
+        return ResponseEntity.ok(Map.of("from", from, "to", to, "orders", orders));
+    }
+
     @GetMapping("/top-products")
     public ResponseEntity<List<Map<String, Object>>> getTopSellingProducts(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
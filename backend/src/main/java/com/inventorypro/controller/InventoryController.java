@@ -1,14 +1,32 @@
 package com.inventorypro.controller;
 
 import com.inventorypro.dto.request.StockAdjustmentRequest;
+import com.inventorypro.dto.response.StockLevelResponse;
+import com.inventorypro.dto.response.StocktakeResult;
 import com.inventorypro.model.InventoryItem;
 import com.inventorypro.service.InventoryService;
+import com.inventorypro.service.StockHistoryService;
+import com.inventorypro.service.StocktakeService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -19,6 +37,12 @@ public class InventoryController {
     @Autowired
     private InventoryService inventoryService;
 
+    @Autowired
+    private StockHistoryService stockHistoryService;
+
+    @Autowired
+    private StocktakeService stocktakeService;
+
     @GetMapping
     public ResponseEntity<List<InventoryItem>> getAllInventoryItems() {
         List<InventoryItem> items = inventoryService.getAllInventoryItems();
@@ -31,6 +55,18 @@ public class InventoryController {
         return ResponseEntity.ok(items);
     }
 
+    @GetMapping("/low-stock/paged")
+    public ResponseEntity<Page<InventoryItem>> getLowStockItems(@RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        Page<InventoryItem> items = inventoryService.getLowStockItems(PageRequest.of(page, size));
+        return ResponseEntity.ok(items);
+    }
+
+    @GetMapping("/low-stock/count")
+    public ResponseEntity<Long> countLowStockItems() {
+        return ResponseEntity.ok(inventoryService.countLowStockItems());
+    }
+
     @GetMapping("/out-of-stock")
     public ResponseEntity<List<InventoryItem>> getOutOfStockItems() {
         List<InventoryItem> items = inventoryService.getOutOfStockItems();
@@ -72,4 +108,68 @@ public class InventoryController {
         Integer totalStock = inventoryService.getTotalStockByProductId(productId);
         return ResponseEntity.ok(totalStock);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/stock-as-of")
+    public ResponseEntity<StockLevelResponse> getStockAsOf(@PathVariable Long id,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(stockHistoryService.getStockAsOf(id, asOf));
+    }
+
+    @GetMapping("/stock-as-of")
+    public ResponseEntity<StockLevelResponse> getStockAsOf(@RequestParam String sku,
+                                                           @RequestParam String warehouse,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(stockHistoryService.getStockAsOf(sku, warehouse, asOf));
+    }
+
+    @GetMapping("/stock-as-of/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportStockAsOf(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            stockHistoryService.exportStockAsOf(asOf, writer);
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"stock-as-of.csv\"")
+                .body(body);
+    }
+
+    /**
+     * Reconcile a stocktake count file (sku,warehouse,counted_quantity) against inventory.
+     * The variance report is streamed back as CSV with the totals in response headers;
+     * with apply=true the counted quantities are booked as STOCKTAKE adjustments.
+     */
+    @PostMapping(value = "/stocktake", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> reconcileStocktake(
+            InputStream countFile,
+            @RequestParam(defaultValue = "false") boolean apply) throws IOException {
+        Path report = Files.createTempFile("stocktake-report-", ".csv");
+        StocktakeResult result;
+        try {
+            result = stocktakeService.reconcile(countFile, apply, report);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(report);
+            throw e;
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Files.copy(report, outputStream);
+            } finally {
+                Files.deleteIfExists(report);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"stocktake-variances.csv\"")
+                .header("X-Stocktake-Lines", String.valueOf(result.getLinesRead()))
+                .header("X-Stocktake-Variances", String.valueOf(result.getVariances()))
+                .header("X-Stocktake-Below-Reserved", String.valueOf(result.getBelowReserved()))
+                .header("X-Stocktake-Unknown", String.valueOf(result.getUnknownItems()))
+                .header("X-Stocktake-Applied", String.valueOf(result.getApplied()))
+                .body(body);
+    }
+}
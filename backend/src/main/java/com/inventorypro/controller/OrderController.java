@@ -1,7 +1,11 @@
 package com.inventorypro.controller;
 
 import com.inventorypro.dto.request.OrderRequest;
+import com.inventorypro.dto.response.MessageResponse;
+import com.inventorypro.dto.response.OrderIntakeResponse;
 import com.inventorypro.model.Order;
+import com.inventorypro.service.OrderIntakeService;
+import com.inventorypro.service.OrderIntakeTicket;
 import com.inventorypro.service.OrderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,22 +14,35 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
+    private static final long INTAKE_EVENT_TIMEOUT_MS = 60_000L;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderIntakeService orderIntakeService;
+
     @GetMapping
     public ResponseEntity<List<Order>> getAllOrders() {
         List<Order> orders = orderService.getAllOrders();
@@ -77,11 +94,65 @@ public class OrderController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Orders go through the bounded intake queue. By default the call waits for the order;
+     * with async=true, or if the wait exceeds the sync timeout, it answers 202 with a
+     * reference that can be polled at /orders/intake/{reference}.
+     * Retries carrying the same Idempotency-Key get the original order instead of a new one;
+     * reusing a key for a different body or customer is refused with 422.
+     */
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('EMPLOYEE')")
-    public ResponseEntity<Order> createOrder(@Valid @RequestBody OrderRequest orderRequest) {
-        Order order = orderService.createOrder(orderRequest);
-        return ResponseEntity.ok(order);
+    public ResponseEntity<?> createOrder(@Valid @RequestBody OrderRequest orderRequest,
+                                         @RequestParam(defaultValue = "false") boolean async,
+                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Idempotency-Key must be 1-" + MAX_IDEMPOTENCY_KEY_LENGTH + " characters"));
+        }
+
+        OrderIntakeTicket ticket = orderIntakeService.submit(orderRequest, idempotencyKey);
+        if (!async) {
+            Optional<Order> order = orderIntakeService.awaitOrder(ticket);
+            if (order.isPresent()) {
+                return ResponseEntity.ok(order.get());
+            }
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/orders/intake/" + ticket.getReference())
+                .body(OrderIntakeResponse.from(ticket));
+    }
+
+    @GetMapping("/intake/{reference}")
+    public ResponseEntity<OrderIntakeResponse> getIntakeStatus(@PathVariable String reference) {
+        return orderIntakeService.findTicket(reference)
+                .map(ticket -> ResponseEntity.ok().body(OrderIntakeResponse.from(ticket)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Server-sent event stream that pushes a single status event once the order is created or fails.
+     */
+    @GetMapping(value = "/intake/{reference}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamIntakeStatus(@PathVariable String reference) {
+        Optional<OrderIntakeTicket> found = orderIntakeService.findTicket(reference);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        OrderIntakeTicket ticket = found.get();
+        SseEmitter emitter = new SseEmitter(INTAKE_EVENT_TIMEOUT_MS);
+        ticket.getResult().whenComplete((order, error) -> {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(ticket.getStatus().name().toLowerCase())
+                        .data(OrderIntakeResponse.from(ticket), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok(emitter);
     }
 
     @PutMapping("/{id}/status")
@@ -1,7 +1,10 @@
 package com.inventorypro.controller;
 
+import com.inventorypro.dto.request.BulkOrderActionRequest;
+import com.inventorypro.dto.request.BulkShipmentRequest;
 import com.inventorypro.dto.request.OrderReturnRequest;
 import com.inventorypro.dto.request.OrderShipmentRequest;
+import com.inventorypro.dto.response.BulkOrderActionResponse;
 import com.inventorypro.model.Order;
 import com.inventorypro.model.OrderReturn;
 import com.inventorypro.service.OrderWorkflowService;
@@ -65,4 +68,25 @@ public class OrderWorkflowController {
         boolean available = orderWorkflowService.checkStockAvailability(orderId);
         return ResponseEntity.ok(available);
     }
+
+    @PostMapping("/bulk/confirm")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<BulkOrderActionResponse> confirmOrders(@Valid @RequestBody BulkOrderActionRequest request) {
+        BulkOrderActionResponse response = orderWorkflowService.confirmOrders(request.getOrderIds());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/bulk/ship")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('EMPLOYEE')")
+    public ResponseEntity<BulkOrderActionResponse> shipOrders(@Valid @RequestBody BulkShipmentRequest request) {
+        BulkOrderActionResponse response = orderWorkflowService.shipOrders(request.getShipments());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/bulk/cancel")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<BulkOrderActionResponse> cancelOrders(@Valid @RequestBody BulkOrderActionRequest request) {
+        BulkOrderActionResponse response = orderWorkflowService.cancelOrders(request.getOrderIds(), request.getReason());
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
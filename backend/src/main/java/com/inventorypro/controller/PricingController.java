@@ -0,0 +1,47 @@
+package com.inventorypro.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorypro.dto.request.CartPricingRequest;
+import com.inventorypro.dto.response.CartPricingResponse;
+import com.inventorypro.service.CartPricingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/pricing")
+@RequiredArgsConstructor
+public class PricingController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final CartPricingService cartPricingService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Quote many carts at once. Results are streamed as newline-delimited JSON, one line per cart
+     * in request order, each written as soon as it and the carts before it are priced.
+     */
+    @PostMapping(value = "/carts", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('EMPLOYEE')")
+    public ResponseEntity<StreamingResponseBody> priceCarts(@Valid @RequestBody CartPricingRequest request) {
+        List<CompletableFuture<CartPricingResponse>> results = cartPricingService.priceCarts(request);
+        StreamingResponseBody body = outputStream -> {
+            for (CompletableFuture<CartPricingResponse> result : results) {
+                outputStream.write(objectMapper.writeValueAsBytes(result.join()));
+                outputStream.write(NEWLINE);
+                outputStream.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
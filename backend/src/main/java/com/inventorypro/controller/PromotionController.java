@@ -0,0 +1,70 @@
+package com.inventorypro.controller;
+
+import com.inventorypro.dto.request.PromotionBacktestRequest;
+import com.inventorypro.dto.request.PromotionRequest;
+import com.inventorypro.dto.response.PromotionBacktestResponse;
+import com.inventorypro.dto.response.PromotionResponse;
+import com.inventorypro.service.PromotionBacktestService;
+import com.inventorypro.service.PromotionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/promotions")
+@RequiredArgsConstructor
+public class PromotionController {
+
+    private final PromotionService promotionService;
+    private final PromotionBacktestService promotionBacktestService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<List<PromotionResponse>> getAllPromotions() {
+        List<PromotionResponse> promotions = promotionService.getAllPromotions().stream()
+                .map(PromotionResponse::from)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(promotions);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<PromotionResponse> getPromotion(@PathVariable Long id) {
+        return ResponseEntity.ok(PromotionResponse.from(promotionService.getPromotion(id)));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<PromotionResponse> createPromotion(@Valid @RequestBody PromotionRequest request) {
+        return ResponseEntity.ok(PromotionResponse.from(promotionService.createPromotion(request)));
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<PromotionResponse> updatePromotion(@PathVariable Long id,
+                                                             @Valid @RequestBody PromotionRequest request) {
+        return ResponseEntity.ok(PromotionResponse.from(promotionService.updatePromotion(id, request)));
+    }
+
+    /**
+     * What a draft promotion would have cost over a past period. Nothing is saved.
+     */
+    @PostMapping("/backtest")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<PromotionBacktestResponse> backtest(@Valid @RequestBody PromotionBacktestRequest request) {
+        return ResponseEntity.ok(promotionBacktestService.backtest(request));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> deletePromotion(@PathVariable Long id) {
+        promotionService.deletePromotion(id);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.inventorypro.controller;
+
+import com.inventorypro.dto.request.PurchaseOrderReceiptRequest;
+import com.inventorypro.dto.response.PurchaseOrderReceiptResponse;
+import com.inventorypro.dto.response.ReplenishmentPlanResponse;
+import com.inventorypro.service.PurchaseOrderReceivingService;
+import com.inventorypro.service.ReplenishmentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/purchase-orders")
+@RequiredArgsConstructor
+public class PurchaseOrderController {
+
+    private final ReplenishmentService replenishmentService;
+    private final PurchaseOrderReceivingService purchaseOrderReceivingService;
+
+    /**
+     * Preview the replenishment plan, or with draft=true create the DRAFT purchase orders.
+     */
+    @PostMapping("/replenishment")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<ReplenishmentPlanResponse> planReplenishment(
+            @RequestParam(defaultValue = "false") boolean draft) {
+        return ResponseEntity.ok(replenishmentService.plan(draft));
+    }
+
+    @PostMapping("/{id}/receive")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('EMPLOYEE')")
+    public ResponseEntity<PurchaseOrderReceiptResponse> receive(
+            @PathVariable Long id,
+            @Valid @RequestBody PurchaseOrderReceiptRequest request) {
+        return ResponseEntity.ok(purchaseOrderReceivingService.receive(id, request));
+    }
+
+    /**
+     * Scanner upload: one barcode per line, optionally "barcode,quantity".
+     */
+    @PostMapping(value = "/{id}/receive/scans", consumes = MediaType.TEXT_PLAIN_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('EMPLOYEE')")
+    public ResponseEntity<PurchaseOrderReceiptResponse> receiveScans(
+            @PathVariable Long id,
+            @RequestParam String warehouse,
+            InputStream scans) throws IOException {
+        return ResponseEntity.ok(purchaseOrderReceivingService.receiveScans(id, warehouse, scans));
+    }
+}
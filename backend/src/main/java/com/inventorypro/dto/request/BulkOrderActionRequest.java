@@ -0,0 +1,17 @@
+package com.inventorypro.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkOrderActionRequest {
+    
+    @NotEmpty
+    @Size(max = 1000)
+    private List<Long> orderIds;
+    
+    private String reason;
+}
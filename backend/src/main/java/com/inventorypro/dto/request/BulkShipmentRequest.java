@@ -0,0 +1,34 @@
+package com.inventorypro.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class BulkShipmentRequest {
+    
+    @NotEmpty
+    @Size(max = 1000)
+    @Valid
+    private List<Shipment> shipments;
+    
+    @Data
+    public static class Shipment {
+        @NotNull
+        private Long orderId;
+        
+        @NotBlank
+        private String trackingCode;
+        
+        @NotBlank
+        private String shippingProvider;
+        
+        private BigDecimal shippingFee;
+    }
+}
@@ -0,0 +1,41 @@
+package com.inventorypro.dto.request;
+
+import com.inventorypro.model.Customer;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CartPricingRequest {
+
+    @NotEmpty
+    @Valid
+    private List<Cart> carts = new ArrayList<>();
+
+    @Data
+    public static class Cart {
+        /**
+         * Caller's own identifier, echoed back on the result.
+         */
+        @Size(max = 100)
+        private String reference;
+
+        private Customer.CustomerType customerType;
+
+        @Size(max = 3)
+        private String currency;
+
+        @DecimalMin("0")
+        private BigDecimal shippingFee;
+
+        @NotEmpty
+        @Valid
+        private List<OrderItemRequest> items = new ArrayList<>();
+    }
+}
@@ -8,6 +8,8 @@ public class OrderItemRequest {
     @NotNull
     private Long productId;
     
+    private Long variantId;
+    
     @NotNull
     @Min(1)
     private Integer quantity;
@@ -24,6 +26,14 @@ public class OrderItemRequest {
         this.productId = productId;
     }
     
+    public Long getVariantId() {
+        return variantId;
+    }
+    
+    public void setVariantId(Long variantId) {
+        this.variantId = variantId;
+    }
+    
     public Integer getQuantity() {
         return quantity;
     }
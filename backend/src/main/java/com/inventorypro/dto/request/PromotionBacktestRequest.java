@@ -0,0 +1,21 @@
+package com.inventorypro.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class PromotionBacktestRequest {
+
+    @NotNull
+    @Valid
+    private PromotionRequest promotion;
+
+    @NotNull
+    private LocalDateTime from;
+
+    @NotNull
+    private LocalDateTime to;
+}
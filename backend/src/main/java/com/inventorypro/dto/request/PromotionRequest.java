@@ -0,0 +1,57 @@
+package com.inventorypro.dto.request;
+
+import com.inventorypro.model.Promotion;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class PromotionRequest {
+    
+    @NotBlank
+    @Size(max = 255)
+    private String name;
+    
+    private String description;
+    
+    @NotNull
+    private Promotion.PromotionType type;
+    
+    private LocalDateTime startDate;
+    
+    private LocalDateTime endDate;
+    
+    @Min(1)
+    private Integer usageLimit;
+    
+    private Boolean active = true;
+    
+    @Size(max = 100)
+    private String exclusivityGroup;
+    
+    private Boolean exclusive = false;
+    
+    @Valid
+    private List<Rule> rules = new ArrayList<>();
+    
+    @Data
+    public static class Rule {
+        @NotBlank
+        @Pattern(regexp = "condition|action")
+        private String ruleType;
+        
+        @NotNull
+        private Map<String, Object> ruleData;
+        
+        private Integer priority = 0;
+    }
+}
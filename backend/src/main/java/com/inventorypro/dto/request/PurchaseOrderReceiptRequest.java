@@ -0,0 +1,33 @@
+package com.inventorypro.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PurchaseOrderReceiptRequest {
+    
+    @NotBlank
+    private String warehouse;
+    
+    @NotEmpty
+    @Size(max = 20000)
+    @Valid
+    private List<Line> lines;
+    
+    @Data
+    public static class Line {
+        @NotBlank
+        private String sku;
+        
+        @NotNull
+        @Min(1)
+        private Integer quantity;
+    }
+}
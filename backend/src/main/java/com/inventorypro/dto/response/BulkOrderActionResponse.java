@@ -0,0 +1,33 @@
+package com.inventorypro.dto.response;
+
+import com.inventorypro.model.Order;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkOrderActionResponse {
+
+    private int succeeded;
+    private int failed;
+    private List<OrderResult> results = new ArrayList<>();
+
+    public void addSuccess(Order order) {
+        results.add(new OrderResult(order.getId(), true, order.getStatus(), null));
+        succeeded++;
+    }
+
+    public void addFailure(Long orderId, Order.OrderStatus status, String message) {
+        results.add(new OrderResult(orderId, false, status, message));
+        failed++;
+    }
+
+    @Data
+    public static class OrderResult {
+        private final Long orderId;
+        private final boolean success;
+        private final Order.OrderStatus status;
+        private final String message;
+    }
+}
@@ -0,0 +1,23 @@
+package com.inventorypro.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A bundle with the number of complete bundles its components' stock allows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BundleStockResponse {
+
+    private Long id;
+    private String sku;
+    private String name;
+    private BigDecimal price;
+    private String currency;
+    private int stock;
+}
@@ -0,0 +1,46 @@
+package com.inventorypro.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Price quote for one cart of a batch. A cart referencing an unknown product or variant is
+ * returned with error set and no amounts; the other carts are priced as usual.
+ */
+@Data
+public class CartPricingResponse {
+
+    private int index;
+    private String reference;
+    private String currency;
+    private BigDecimal subtotal;
+    private BigDecimal shippingFee;
+    private BigDecimal shippingDiscount;
+    private BigDecimal totalDiscount;
+    private BigDecimal total;
+    private boolean optimal;
+    private String error;
+    private List<Line> lines = new ArrayList<>();
+    private List<AppliedPromotion> promotions = new ArrayList<>();
+
+    @Data
+    public static class Line {
+        private final Long productId;
+        private final Long variantId;
+        private final int quantity;
+        private final BigDecimal unitPrice;
+        private final BigDecimal total;
+        private final BigDecimal discount;
+    }
+
+    @Data
+    public static class AppliedPromotion {
+        private final Long promotionId;
+        private final String name;
+        private final BigDecimal discount;
+        private final List<String> explanation;
+    }
+}
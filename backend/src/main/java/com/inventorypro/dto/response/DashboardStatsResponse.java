@@ -8,6 +8,7 @@ public class DashboardStatsResponse {
     private Long totalOrders;
     private Long totalProducts;
     private Long lowStockItems;
+    private Long outOfStockItems;
     private String currency;
     
     // Constructors
@@ -46,6 +47,14 @@ public class DashboardStatsResponse {
         this.lowStockItems = lowStockItems;
     }
     
+    public Long getOutOfStockItems() {
+        return outOfStockItems;
+    }
+    
+    public void setOutOfStockItems(Long outOfStockItems) {
+        this.outOfStockItems = outOfStockItems;
+    }
+    
     public String getCurrency() {
         return currency;
     }
@@ -0,0 +1,30 @@
+package com.inventorypro.dto.response;
+
+import com.inventorypro.service.OrderIntakeTicket;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class OrderIntakeResponse {
+
+    private String reference;
+    private OrderIntakeTicket.Status status;
+    private Long orderId;
+    private String orderNumber;
+    private String error;
+    private LocalDateTime queuedAt;
+    private LocalDateTime completedAt;
+
+    public static OrderIntakeResponse from(OrderIntakeTicket ticket) {
+        OrderIntakeResponse response = new OrderIntakeResponse();
+        response.setReference(ticket.getReference());
+        response.setStatus(ticket.getStatus());
+        response.setOrderId(ticket.getOrderId());
+        response.setOrderNumber(ticket.getOrderNumber());
+        response.setError(ticket.getError());
+        response.setQueuedAt(ticket.getQueuedAt());
+        response.setCompletedAt(ticket.getCompletedAt());
+        return response;
+    }
+}
@@ -0,0 +1,49 @@
+package com.inventorypro.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What a draft promotion would have given away on the orders placed in [from, to).
+ * Amounts are never summed across currencies, so totals and the distribution of the discount
+ * per affected order are reported per currency.
+ */
+@Data
+public class PromotionBacktestResponse {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long ordersEvaluated;
+    private long ordersAffected;
+    private long durationMs;
+    private List<CurrencyResult> currencies = new ArrayList<>();
+
+    @Data
+    public static class CurrencyResult {
+        private String currency;
+        private long ordersEvaluated;
+        private long ordersAffected;
+        private BigDecimal revenue;
+        private BigDecimal totalDiscount;
+        private BigDecimal averageDiscount;
+        private BigDecimal medianDiscount;
+        private BigDecimal p90Discount;
+        private BigDecimal p99Discount;
+        private BigDecimal maxDiscount;
+        private List<Bucket> histogram = new ArrayList<>();
+    }
+
+    /**
+     * Affected orders whose discount falls in (lower, upper]; the first bucket includes lower.
+     */
+    @Data
+    public static class Bucket {
+        private final BigDecimal lower;
+        private final BigDecimal upper;
+        private final long orders;
+    }
+}
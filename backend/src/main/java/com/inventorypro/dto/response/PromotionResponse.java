@@ -0,0 +1,54 @@
+package com.inventorypro.dto.response;
+
+import com.inventorypro.model.Promotion;
+import com.inventorypro.model.PromotionRule;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class PromotionResponse {
+
+    private Long id;
+    private String name;
+    private String description;
+    private Promotion.PromotionType type;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Integer usageLimit;
+    private Integer usageCount;
+    private Boolean active;
+    private String exclusivityGroup;
+    private Boolean exclusive;
+    private List<Rule> rules = new ArrayList<>();
+
+    public static PromotionResponse from(Promotion promotion) {
+        PromotionResponse response = new PromotionResponse();
+        response.setId(promotion.getId());
+        response.setName(promotion.getName());
+        response.setDescription(promotion.getDescription());
+        response.setType(promotion.getType());
+        response.setStartDate(promotion.getStartDate());
+        response.setEndDate(promotion.getEndDate());
+        response.setUsageLimit(promotion.getUsageLimit());
+        response.setUsageCount(promotion.getUsageCount());
+        response.setActive(promotion.getActive());
+        response.setExclusivityGroup(promotion.getExclusivityGroup());
+        response.setExclusive(promotion.getExclusive());
+        for (PromotionRule rule : promotion.getRules()) {
+            response.getRules().add(new Rule(rule.getId(), rule.getRuleType(), rule.getRuleData(), rule.getPriority()));
+        }
+        return response;
+    }
+
+    @Data
+    public static class Rule {
+        private final Long id;
+        private final String ruleType;
+        private final Map<String, Object> ruleData;
+        private final Integer priority;
+    }
+}
@@ -0,0 +1,35 @@
+package com.inventorypro.dto.response;
+
+import com.inventorypro.model.PurchaseOrder;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What a delivery changed on the purchase order. Quantities that matched no open line
+ * (unknown SKU or more than was ordered) are listed under rejected and were not stocked.
+ */
+@Data
+public class PurchaseOrderReceiptResponse {
+
+    private Long purchaseOrderId;
+    private String poNumber;
+    private PurchaseOrder.PurchaseOrderStatus status;
+    private String warehouse;
+    private int skusReceived;
+    private long unitsReceived;
+    private int inventoryItemsCreated;
+    private List<RejectedQuantity> rejected = new ArrayList<>();
+
+    public void addRejected(String sku, int quantity, String reason) {
+        rejected.add(new RejectedQuantity(sku, quantity, reason));
+    }
+
+    @Data
+    public static class RejectedQuantity {
+        private final String sku;
+        private final int quantity;
+        private final String reason;
+    }
+}
@@ -0,0 +1,33 @@
+package com.inventorypro.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a replenishment run: one entry per supplier with SKUs to reorder.
+ * purchaseOrderId and poNumber are only set when the run drafted purchase orders.
+ */
+@Data
+public class ReplenishmentPlanResponse {
+
+    private boolean drafted;
+    private int skusEvaluated;
+    private int skusToReorder;
+    private int skusWithoutSupplier;
+    private long durationMs;
+    private List<SupplierDraft> purchaseOrders = new ArrayList<>();
+
+    @Data
+    public static class SupplierDraft {
+        private final Long supplierId;
+        private final String supplierName;
+        private final Long purchaseOrderId;
+        private final String poNumber;
+        private final int lines;
+        private final long units;
+        private final BigDecimal totalCost;
+    }
+}
@@ -0,0 +1,25 @@
+package com.inventorypro.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * On-hand stock of an inventory item at a point in time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelResponse {
+
+    private Long inventoryItemId;
+    private String sku;
+    private String warehouse;
+    private LocalDateTime asOf;
+    private int stock;
+    /** Snapshot the figure was rebuilt from, null if replayed from the first movement. */
+    private LocalDateTime snapshotAt;
+    private int movementsReplayed;
+}
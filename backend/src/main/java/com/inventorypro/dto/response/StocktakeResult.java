@@ -0,0 +1,22 @@
+package com.inventorypro.dto.response;
+
+import lombok.Data;
+
+/**
+ * Totals of a stocktake reconciliation; the per-item detail is in the variance report.
+ */
+@Data
+public class StocktakeResult {
+
+    private long linesRead;
+    private long invalidLines;
+    private long itemsCounted;
+    private long matched;
+    private long variances;
+    /** Counts below the stock reserved by confirmed orders, reported but not applied. */
+    private long belowReserved;
+    private long unknownItems;
+    private long notCounted;
+    private long applied;
+    private long netVariance;
+}
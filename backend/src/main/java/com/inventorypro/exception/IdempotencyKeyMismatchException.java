@@ -0,0 +1,16 @@
+package com.inventorypro.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Raised when an Idempotency-Key is reused with a different request body or by a different customer.
+ * Mapped to 422 Unprocessable Entity; the original order is never returned for such a request.
+ */
+@ResponseStatus(value = HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String idempotencyKey) {
+        super("Idempotency-Key '" + idempotencyKey + "' was already used for a different request");
+    }
+}
@@ -0,0 +1,22 @@
+package com.inventorypro.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Raised when the order intake queue is saturated and a new order cannot be admitted.
+ * Mapped to 429 Too Many Requests with a Retry-After hint.
+ */
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS)
+public class OrderIntakeRejectedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public OrderIntakeRejectedException(long retryAfterSeconds) {
+        super("Order intake is at capacity, please retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
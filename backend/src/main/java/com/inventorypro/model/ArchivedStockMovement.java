@@ -0,0 +1,66 @@
+package com.inventorypro.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock movement moved out of {@code stock_movements} by the archival job.
+ * Keeps the original id and timestamps; item and user are plain ids because archived
+ * history outlives the rows it refers to.
+ */
+@Entity
+@Table(name = "stock_movements_archive", indexes = {
+        @Index(name = "idx_stock_movements_archive_item_created", columnList = "inventory_item_id, created_at"),
+        @Index(name = "idx_stock_movements_archive_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedStockMovement {
+
+    @Id
+    private Long id;
+
+    @Column(name = "inventory_item_id")
+    private Long inventoryItemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type")
+    private StockMovement.MovementType movementType;
+
+    @Column(name = "quantity")
+    private Integer quantity;
+
+    @Column(name = "previous_stock")
+    private Integer previousStock;
+
+    @Column(name = "new_stock")
+    private Integer newStock;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason_code", length = 30)
+    private StockMovement.ReasonCode reasonCode;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reference_type")
+    private StockMovement.ReferenceType referenceType;
+
+    @Column(name = "reference_id")
+    private Long referenceId;
+
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
@@ -15,6 +15,7 @@ import java.util.List;
  * Stock is calculated dynamically based on component products
  */
 @Entity
+@EntityListeners(BundleChangeListener.class)
 @Table(name = "bundles")
 public class Bundle extends BaseEntity {
 
@@ -0,0 +1,32 @@
+package com.inventorypro.model;
+
+import com.inventorypro.service.BundlesChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Announces every write to a bundle or its items, whatever code path made it, so the cached
+ * component index of the bundle never outlives a change to its components.
+ */
+@Component
+public class BundleChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BundleChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        Bundle bundle = entity instanceof BundleItem item ? item.getBundle() : (Bundle) entity;
+        if (bundle != null && bundle.getId() != null) {
+            eventPublisher.publishEvent(new BundlesChangedEvent(bundle.getId()));
+        }
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.validation.constraints.NotNull;
  * ADR 02: Bundle items for managing combo products
  */
 @Entity
+@EntityListeners(BundleChangeListener.class)
 @Table(name = "bundle_items")
 public class BundleItem extends BaseEntity {
 
@@ -7,7 +7,10 @@ import jakarta.validation.constraints.Size;
 import lombok.*;
 
 @Entity
-@Table(name = "inventory_items")
+@Table(name = "inventory_items", indexes = {
+        @Index(name = "idx_inventory_items_shortfall", columnList = "stock_shortfall"),
+        @Index(name = "idx_inventory_items_out_of_stock", columnList = "out_of_stock")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,6 +22,10 @@ public class InventoryItem extends BaseEntity {
     @JoinColumn(name = "product_id")
     private Product product;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "variant_id")
+    private ProductVariant variant;
+
     @NotBlank
     @Size(max = 100)
     @Column(name = "sku")
@@ -48,8 +55,27 @@ public class InventoryItem extends BaseEntity {
     @Column(name = "location")
     private String location;
 
+    /**
+     * reorderLevel - available stock while available stock is at or below the reorder level,
+     * null otherwise. Larger is more severe. Maintained on every write so low-stock lookups
+     * read an index instead of evaluating every row.
+     */
+    @Column(name = "stock_shortfall")
+    private Integer stockShortfall;
+
+    @Column(name = "out_of_stock")
+    private Boolean outOfStock;
+
     // Computed property
     public Integer getAvailableStock() {
         return currentStock - reservedStock;
     }
+
+    @PrePersist
+    @PreUpdate
+    public void refreshStockStatus() {
+        int available = getAvailableStock();
+        stockShortfall = available <= reorderLevel ? reorderLevel - available : null;
+        outOfStock = available <= 0;
+    }
 }
\ No newline at end of file
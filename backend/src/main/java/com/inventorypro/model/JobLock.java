@@ -0,0 +1,38 @@
+package com.inventorypro.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cluster-wide lease on a scheduled job, so a job that fires on every node runs on only one of them.
+ */
+@Entity
+@Table(name = "job_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLock extends BaseEntity {
+
+    @NotBlank
+    @Size(max = 50)
+    @Column(name = "job_name", unique = true)
+    private String jobName;
+
+    /**
+     * The lease is free once this has passed, even if its holder never released it.
+     */
+    @NotNull
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Size(max = 100)
+    @Column(name = "locked_by")
+    private String lockedBy;
+}
@@ -0,0 +1,33 @@
+package com.inventorypro.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Database high-water mark for a document number series (orders, returns, purchase orders).
+ * Nodes lease blocks from it and hand out numbers from memory, so it is touched once per block.
+ */
+@Entity
+@Table(name = "number_sequences")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NumberSequence extends BaseEntity {
+
+    @NotBlank
+    @Size(max = 50)
+    @Column(name = "sequence_name", unique = true)
+    private String name;
+
+    /**
+     * First value not yet leased to any node.
+     */
+    @NotNull
+    @Column(name = "next_value")
+    private Long nextValue;
+}
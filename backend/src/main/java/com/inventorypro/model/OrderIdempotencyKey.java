@@ -0,0 +1,50 @@
+package com.inventorypro.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.Objects;
+
+/**
+ * Durable record of an Idempotency-Key used on order creation.
+ * Inserted first in the order transaction, so the unique constraint stops a retried
+ * request from creating a second order even when it lands on another node.
+ * The customer and a hash of the request body are kept with the key, so a retry is only
+ * answered with the original order when it is the same request.
+ */
+@Entity
+@Table(name = "order_idempotency_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderIdempotencyKey extends BaseEntity {
+
+    @NotBlank
+    @Size(max = 100)
+    @Column(name = "idempotency_key", unique = true)
+    private String idempotencyKey;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @NotNull
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    /**
+     * {@link com.inventorypro.util.OrderRequestHash} of the request that claimed the key.
+     */
+    @NotBlank
+    @Size(max = 64)
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    public boolean matches(Long customerId, String requestHash) {
+        return Objects.equals(this.customerId, customerId) && Objects.equals(this.requestHash, requestHash);
+    }
+}
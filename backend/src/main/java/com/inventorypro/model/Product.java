@@ -71,6 +71,13 @@ public class Product extends BaseEntity {
     @JoinColumn(name = "category_id")
     private Category category;
 
+    /**
+     * Preferred supplier; replenishment drafts purchase orders for this product against it.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "supplier_id")
+    private Supplier supplier;
+
     /**
      * ADR 02: JSONB for flexible product attributes
      * Example: {"color": "Red", "size": "L", "material": "Cotton"}
@@ -37,15 +37,31 @@ public class Promotion extends BaseEntity {
     @Column(name = "usage_limit")
     private Integer usageLimit;
 
-    @Column(name = "usage_count")
+    /**
+     * Uses handed out so far, including allowances leased to nodes and not yet used.
+     * Maintained only by PromotionUsageTracker's conditional updates, never by entity writes.
+     */
+    @Column(name = "usage_count", updatable = false)
     private Integer usageCount = 0;
 
-    @OneToMany(mappedBy = "promotion", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "promotion", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<PromotionRule> rules = new ArrayList<>();
 
     @Column(name = "active")
     private Boolean active = true;
 
+    /**
+     * At most one promotion of the same group applies to a cart.
+     */
+    @Column(name = "exclusivity_group", length = 100)
+    private String exclusivityGroup;
+
+    /**
+     * An exclusive promotion never combines with any other.
+     */
+    @Column(name = "is_exclusive")
+    private Boolean exclusive = false;
+
     // Constructors
     public Promotion() {}
 
@@ -122,6 +138,22 @@ public class Promotion extends BaseEntity {
         this.active = active;
     }
 
+    public String getExclusivityGroup() {
+        return exclusivityGroup;
+    }
+
+    public void setExclusivityGroup(String exclusivityGroup) {
+        this.exclusivityGroup = exclusivityGroup;
+    }
+
+    public Boolean getExclusive() {
+        return exclusive;
+    }
+
+    public void setExclusive(Boolean exclusive) {
+        this.exclusive = exclusive;
+    }
+
     public enum PromotionType {
         PERCENTAGE_DISCOUNT,
         FIXED_AMOUNT_DISCOUNT,
@@ -12,6 +12,7 @@ import java.util.Map;
  * Examples:
  * - {"condition": "cart_total", "operator": ">=", "value": 100}
  * - {"condition": "product_category", "operator": "in", "value": ["electronics", "books"]}
+ * - {"condition": "product_id", "operator": "in", "value": [12, 15]}
  * - {"action": "discount_percentage", "value": 10}
  */
 @Entity
@@ -0,0 +1,48 @@
+package com.inventorypro.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Non-cancelled orders placed on one day through one channel in one currency.
+ * Kept up to date as orders are placed, cancelled or deleted; dashboard charts read these rows
+ * instead of the orders.
+ */
+@Entity
+@Table(name = "sales_rollup_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_sales_rollup_daily_bucket", columnNames = {"sales_date", "channel", "currency"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollupDaily extends BaseEntity {
+
+    @NotNull
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "channel")
+    private Order.OrderChannel channel;
+
+    @NotNull
+    @Column(name = "currency")
+    private String currency;
+
+    @NotNull
+    @Column(name = "order_count")
+    @Builder.Default
+    private Long orderCount = 0L;
+
+    @NotNull
+    @Column(name = "sales_total", precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal salesTotal = BigDecimal.ZERO;
+}
@@ -0,0 +1,50 @@
+package com.inventorypro.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Non-cancelled orders placed in one hour through one channel in one currency, for intraday charts.
+ * Maintained alongside {@link SalesRollupDaily}.
+ */
+@Entity
+@Table(name = "sales_rollup_hourly", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_sales_rollup_hourly_bucket", columnNames = {"bucket_start", "channel", "currency"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollupHourly extends BaseEntity {
+
+    /**
+     * Start of the hour.
+     */
+    @NotNull
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "channel")
+    private Order.OrderChannel channel;
+
+    @NotNull
+    @Column(name = "currency")
+    private String currency;
+
+    @NotNull
+    @Column(name = "order_count")
+    @Builder.Default
+    private Long orderCount = 0L;
+
+    @NotNull
+    @Column(name = "sales_total", precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal salesTotal = BigDecimal.ZERO;
+}
@@ -0,0 +1,88 @@
+package com.inventorypro.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Audit trail entry for every change to an inventory item's current or reserved stock.
+ */
+@Entity
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_created", columnList = "created_at"),
+        @Index(name = "idx_stock_movements_item_created", columnList = "inventory_item_id, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockMovement extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "inventory_item_id")
+    private InventoryItem inventoryItem;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type")
+    private MovementType movementType;
+
+    @NotNull
+    @Column(name = "quantity")
+    private Integer quantity;
+
+    @NotNull
+    @Column(name = "previous_stock")
+    private Integer previousStock;
+
+    @NotNull
+    @Column(name = "new_stock")
+    private Integer newStock;
+
+    /**
+     * Why the stock moved; together with the reference this replaces a free-text reason.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason_code", length = 30)
+    private ReasonCode reasonCode;
+
+    /**
+     * Optional free-text note, only for manual changes.
+     */
+    @Size(max = 255)
+    @Column(name = "reason", columnDefinition = "VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci")
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reference_type")
+    private ReferenceType referenceType;
+
+    @Column(name = "reference_id")
+    private Long referenceId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by")
+    private User createdBy;
+
+    public enum MovementType {
+        IN, OUT, ADJUSTMENT, RESERVED, RELEASED, RETURN, DAMAGE, TRANSFER;
+
+        /**
+         * Whether previous/new stock refer to current (on-hand) stock rather than reserved stock.
+         */
+        public boolean affectsOnHand() {
+            return this != RESERVED && this != RELEASED;
+        }
+    }
+
+    public enum ReasonCode {
+        ORDER_CONFIRMATION, ORDER_SHIPMENT, ORDER_CANCELLATION, RESERVATION_EXPIRY,
+        INITIAL_STOCK, STOCK_COUNT, MANUAL_ADJUSTMENT, STOCKTAKE, PURCHASE_RECEIPT
+    }
+
+    public enum ReferenceType {
+        ORDER, ADJUSTMENT, RETURN, DAMAGE, RESTOCK, PURCHASE_ORDER, RECEIPT, TRANSFER
+    }
+}
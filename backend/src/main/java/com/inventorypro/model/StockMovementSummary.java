@@ -0,0 +1,59 @@
+package com.inventorypro.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Compacted totals of an inventory item's archived movements for one calendar month.
+ * Opening stock plus quantity in minus quantity out equals closing stock, so balances stay
+ * provable after the individual movements have left the hot table.
+ */
+@Entity
+@Table(name = "stock_movement_summaries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_movement_summaries_item_period", columnNames = {"inventory_item_id", "period_start"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockMovementSummary extends BaseEntity {
+
+    @NotNull
+    @Column(name = "inventory_item_id")
+    private Long inventoryItemId;
+
+    /**
+     * First day of the summarised month.
+     */
+    @NotNull
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    /**
+     * On-hand stock before the first on-hand movement of the month, null if there was none.
+     */
+    @Column(name = "opening_stock")
+    private Integer openingStock;
+
+    @Column(name = "closing_stock")
+    private Integer closingStock;
+
+    @NotNull
+    @Column(name = "quantity_in")
+    @Builder.Default
+    private Long quantityIn = 0L;
+
+    @NotNull
+    @Column(name = "quantity_out")
+    @Builder.Default
+    private Long quantityOut = 0L;
+
+    @NotNull
+    @Column(name = "movement_count")
+    @Builder.Default
+    private Integer movementCount = 0;
+}
@@ -0,0 +1,34 @@
+package com.inventorypro.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Stock a confirmed order holds on one inventory row.
+ * Written when the order is confirmed and consumed when it ships or its reservation is released,
+ * so both act on exactly the rows and quantities the confirmation reserved.
+ */
+@Entity
+@Table(name = "stock_reservations", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_reservations_order_item", columnNames = {"order_id", "inventory_item_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservation extends BaseEntity {
+
+    @NotNull
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @NotNull
+    @Column(name = "inventory_item_id")
+    private Long inventoryItemId;
+
+    @NotNull
+    @Column(name = "quantity")
+    private Integer quantity;
+}
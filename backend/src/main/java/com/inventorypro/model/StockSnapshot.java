@@ -0,0 +1,41 @@
+package com.inventorypro.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of an inventory item's stock, so historical stock can be rebuilt from the
+ * nearest snapshot plus the movements recorded after it.
+ */
+@Entity
+@Table(name = "stock_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_snapshots_item_time", columnNames = {"inventory_item_id", "snapshot_at"})
+}, indexes = {
+        @Index(name = "idx_stock_snapshots_time", columnList = "snapshot_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSnapshot extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "inventory_item_id")
+    private InventoryItem inventoryItem;
+
+    @NotNull
+    @Column(name = "snapshot_at")
+    private LocalDateTime snapshotAt;
+
+    @NotNull
+    @Column(name = "current_stock")
+    private Integer currentStock;
+
+    @NotNull
+    @Column(name = "reserved_stock")
+    private Integer reservedStock;
+}
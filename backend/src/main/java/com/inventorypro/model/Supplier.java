@@ -43,6 +43,13 @@ public class Supplier extends BaseEntity {
     @Column(name = "notes", columnDefinition = "TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci")
     private String notes;
 
+    /**
+     * Days from placing a purchase order to receiving it; replenishment covers demand over this window.
+     */
+    @Column(name = "lead_time_days")
+    @Builder.Default
+    private Integer leadTimeDays = 7;
+
     @Column(name = "active")
     @Builder.Default
     private Boolean active = true;
@@ -0,0 +1,20 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.ArchivedStockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedStockMovementRepository extends JpaRepository<ArchivedStockMovement, Long> {
+    
+    @Query("SELECT m FROM ArchivedStockMovement m WHERE m.inventoryItemId = :inventoryItemId " +
+           "AND m.createdAt > :after AND m.createdAt <= :upTo ORDER BY m.createdAt, m.id")
+    List<ArchivedStockMovement> findMovementTail(@Param("inventoryItemId") Long inventoryItemId,
+                                                 @Param("after") LocalDateTime after,
+                                                 @Param("upTo") LocalDateTime upTo);
+}
@@ -3,8 +3,10 @@ package com.inventorypro.repository;
 import com.inventorypro.model.Bundle;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +19,10 @@ public interface BundleRepository extends JpaRepository<Bundle, Long> {
     List<Bundle> findAllActive();
     
     Boolean existsBySku(String sku);
-}
\ No newline at end of file
+    
+    @Query("SELECT DISTINCT b FROM Bundle b LEFT JOIN FETCH b.items WHERE b.active = true")
+    List<Bundle> findAllActiveWithItems();
+    
+    @Query("SELECT DISTINCT b FROM Bundle b LEFT JOIN FETCH b.items WHERE b.id IN :ids")
+    List<Bundle> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+}
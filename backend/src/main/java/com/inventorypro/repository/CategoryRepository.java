@@ -20,4 +20,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findByParentId(Long parentId);
     
     Boolean existsBySlug(String slug);
+    
+    /**
+     * id, slug, name, parentId of every category, for resolving promotion category rules.
+     */
+    @Query("SELECT c.id, c.slug, c.name, p.id FROM Category c LEFT JOIN c.parent p")
+    List<Object[]> findCategoryTree();
 }
\ No newline at end of file
@@ -4,10 +4,13 @@ import com.inventorypro.model.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,4 +33,11 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Page<Customer> searchCustomers(@Param("keyword") String keyword, Pageable pageable);
     
     Boolean existsByEmail(String email);
+    
+    @Modifying
+    @Query("UPDATE Customer c SET c.totalOrders = c.totalOrders + 1, c.totalSpent = c.totalSpent + :amount, " +
+           "c.lastOrderAt = :orderedAt WHERE c.id = :customerId")
+    int incrementOrderStatistics(@Param("customerId") Long customerId,
+                                 @Param("amount") BigDecimal amount,
+                                 @Param("orderedAt") LocalDateTime orderedAt);
 }
\ No newline at end of file
@@ -1,28 +1,98 @@
 package com.inventorypro.repository;
 
 import com.inventorypro.model.InventoryItem;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long> {
+public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long>, InventoryItemRepositoryCustom {
     
     Optional<InventoryItem> findBySku(String sku);
     
     List<InventoryItem> findByProductId(Long productId);
     
+    List<InventoryItem> findByVariantId(Long variantId);
+    
+    @Query("SELECT i.id FROM InventoryItem i WHERE i.product.id IN :productIds")
+    List<Long> findIdsByProductIdIn(@Param("productIds") Collection<Long> productIds);
+    
+    @Query("SELECT i.id FROM InventoryItem i WHERE i.variant.id IN :variantIds")
+    List<Long> findIdsByVariantIdIn(@Param("variantIds") Collection<Long> variantIds);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM InventoryItem i WHERE i.id IN :ids ORDER BY i.id")
+    List<InventoryItem> findByIdInForUpdate(@Param("ids") Collection<Long> ids);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM InventoryItem i WHERE i.sku IN :skus AND i.warehouse = :warehouse ORDER BY i.id")
+    List<InventoryItem> findBySkuInAndWarehouseForUpdate(@Param("skus") Collection<String> skus,
+                                                         @Param("warehouse") String warehouse);
+    
     List<InventoryItem> findByWarehouse(String warehouse);
     
-    @Query("SELECT i FROM InventoryItem i WHERE (i.currentStock - i.reservedStock) <= i.reorderLevel")
+    Optional<InventoryItem> findBySkuAndWarehouse(String sku, String warehouse);
+    
+    @Query("SELECT COALESCE(MAX(i.id), 0) FROM InventoryItem i")
+    Long findMaxId();
+    
+    /**
+     * Stock position per SKU across warehouses with the product, unit cost and preferred supplier:
+     * sku, productId, variantId, productName, cost, supplierId, available, reorderLevel.
+     */
+    @Query("SELECT i.sku, p.id, v.id, p.name, COALESCE(v.cost, p.cost), s.id, " +
+           "SUM(i.currentStock - i.reservedStock), SUM(i.reorderLevel) " +
+           "FROM InventoryItem i JOIN i.product p LEFT JOIN i.variant v LEFT JOIN p.supplier s " +
+           "GROUP BY i.sku, p.id, v.id, p.name, v.cost, p.cost, s.id")
+    List<Object[]> getReplenishmentPositions();
+    
+    /**
+     * Most severe shortfall first.
+     */
+    @Query("SELECT i FROM InventoryItem i WHERE i.stockShortfall IS NOT NULL ORDER BY i.stockShortfall DESC, i.id")
     List<InventoryItem> findLowStockItems();
     
-    @Query("SELECT i FROM InventoryItem i WHERE (i.currentStock - i.reservedStock) = 0")
+    @Query(value = "SELECT i FROM InventoryItem i WHERE i.stockShortfall IS NOT NULL ORDER BY i.stockShortfall DESC, i.id",
+           countQuery = "SELECT COUNT(i) FROM InventoryItem i WHERE i.stockShortfall IS NOT NULL")
+    Page<InventoryItem> findLowStockItems(Pageable pageable);
+    
+    @Query("SELECT COUNT(i) FROM InventoryItem i WHERE i.stockShortfall IS NOT NULL")
+    long countLowStockItems();
+    
+    @Query("SELECT i FROM InventoryItem i WHERE i.outOfStock = true")
     List<InventoryItem> findOutOfStockItems();
     
+    @Query("SELECT COUNT(i) FROM InventoryItem i WHERE i.outOfStock = true")
+    long countOutOfStockItems();
+    
+    /**
+     * Fill the stock status columns of rows written before they were maintained.
+     */
+    @Modifying
+    @Query("UPDATE InventoryItem i SET " +
+           "i.stockShortfall = CASE WHEN (i.currentStock - i.reservedStock) <= i.reorderLevel " +
+           "THEN i.reorderLevel - (i.currentStock - i.reservedStock) ELSE NULL END, " +
+           "i.outOfStock = CASE WHEN (i.currentStock - i.reservedStock) <= 0 THEN true ELSE false END " +
+           "WHERE i.outOfStock IS NULL")
+    int backfillStockStatus();
+    
     @Query("SELECT SUM(i.currentStock) FROM InventoryItem i WHERE i.product.id = :productId")
     Integer getTotalStockByProductId(Long productId);
-}
\ No newline at end of file
+    
+    /**
+     * (productId, total current stock) for every given product that has inventory.
+     */
+    @Query("SELECT i.product.id, SUM(i.currentStock) FROM InventoryItem i " +
+           "WHERE i.product.id IN :productIds GROUP BY i.product.id")
+    List<Object[]> getTotalStockByProductIds(@Param("productIds") Collection<Long> productIds);
+}
@@ -0,0 +1,17 @@
+package com.inventorypro.repository;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+public interface InventoryItemRepositoryCustom {
+
+    /**
+     * Stream the stock of the items in the given warehouses, ordered by sku then warehouse in
+     * binary (String.compareTo) order whatever the column collation, through a forward-only cursor.
+     * On MySQL the cursor only streams with useCursorFetch=true on the connection URL.
+     */
+    void streamStockBySkuAndWarehouse(Collection<String> warehouses, Consumer<StockRow> consumer);
+
+    record StockRow(long inventoryItemId, String sku, String warehouse, int currentStock, int reservedStock) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.inventorypro.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Cursor reads over inventory items for imports that merge against the whole table.
+ */
+@RequiredArgsConstructor
+public class InventoryItemRepositoryImpl implements InventoryItemRepositoryCustom {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile String skuWarehouseOrder;
+
+    @Override
+    public void streamStockBySkuAndWarehouse(Collection<String> warehouses, Consumer<StockRow> consumer) {
+        if (warehouses.isEmpty()) {
+            return;
+        }
+
+        String sql = "SELECT id, sku, warehouse, current_stock, reserved_stock FROM inventory_items WHERE warehouse IN (" +
+                String.join(", ", Collections.nCopies(warehouses.size(), "?")) + ") ORDER BY " + skuWarehouseOrder();
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            int index = 1;
+            for (String warehouse : warehouses) {
+                ps.setString(index++, warehouse);
+            }
+            return ps;
+        }, rs -> {
+            consumer.accept(new StockRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4), rs.getInt(5)));
+        });
+    }
+
+    /**
+     * MySQL orders strings by the column collation, which is case-insensitive; comparing the bytes
+     * gives code point order. H2 already compares strings like String.compareTo.
+     */
+    private String skuWarehouseOrder() {
+        if (skuWarehouseOrder == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            String database = product != null ? product.toLowerCase(Locale.ROOT) : "";
+            skuWarehouseOrder = database.contains("mysql") || database.contains("mariadb")
+                    ? "CAST(sku AS BINARY), CAST(warehouse AS BINARY)"
+                    : "sku, warehouse";
+        }
+        return skuWarehouseOrder;
+    }
+}
@@ -0,0 +1,29 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, Long> {
+    
+    /**
+     * Take the lease if it has expired; returns 0 if another node holds it or the job has no row yet.
+     */
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :until, l.lockedBy = :owner " +
+           "WHERE l.jobName = :jobName AND l.lockedUntil <= :now")
+    int acquire(@Param("jobName") String jobName, @Param("owner") String owner,
+                @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+    
+    boolean existsByJobName(String jobName);
+    
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :until WHERE l.jobName = :jobName AND l.lockedBy = :owner")
+    int release(@Param("jobName") String jobName, @Param("owner") String owner, @Param("until") LocalDateTime until);
+}
@@ -0,0 +1,19 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.NumberSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NumberSequenceRepository extends JpaRepository<NumberSequence, Long> {
+    
+    @Modifying
+    @Query("UPDATE NumberSequence s SET s.nextValue = s.nextValue + :blockSize WHERE s.name = :name")
+    int advance(@Param("name") String name, @Param("blockSize") long blockSize);
+    
+    @Query("SELECT s.nextValue FROM NumberSequence s WHERE s.name = :name")
+    Long findNextValue(@Param("name") String name);
+}
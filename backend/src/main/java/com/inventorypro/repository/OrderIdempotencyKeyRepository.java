@@ -0,0 +1,21 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, Long> {
+    
+    Optional<OrderIdempotencyKey> findByIdempotencyKey(String idempotencyKey);
+    
+    @Modifying
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
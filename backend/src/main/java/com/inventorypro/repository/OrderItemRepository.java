@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, OrderItemRepositoryCustom {
     
     List<OrderItem> findByOrderId(Long orderId);
     
@@ -25,4 +25,12 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
            "GROUP BY oi.product.id ORDER BY totalSold DESC")
     List<Object[]> getTopSellingProducts(@Param("startDate") LocalDateTime startDate, 
                                         @Param("endDate") LocalDateTime endDate);
-}
\ No newline at end of file
+    
+    /**
+     * Units sold per SKU since the given time, cancelled orders excluded.
+     */
+    @Query("SELECT oi.sku, SUM(oi.quantity) FROM OrderItem oi " +
+           "WHERE oi.order.status <> 'CANCELLED' AND oi.order.createdAt >= :since AND oi.sku IS NOT NULL " +
+           "GROUP BY oi.sku")
+    List<Object[]> getUnitsSoldBySkuSince(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,14 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.OrderItem;
+
+import java.util.List;
+
+public interface OrderItemRepositoryCustom {
+
+    /**
+     * Insert all items in one JDBC batch and assign their generated ids.
+     * Items must reference an order that has already been inserted.
+     */
+    void batchInsert(List<OrderItem> items);
+}
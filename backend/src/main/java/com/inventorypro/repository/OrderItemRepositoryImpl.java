@@ -0,0 +1,84 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.OrderItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch insert for order lines.
+ * OrderItem ids are IDENTITY generated, which makes Hibernate insert row by row.
+ */
+@RequiredArgsConstructor
+public class OrderItemRepositoryImpl implements OrderItemRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO order_items (order_id, product_id, variant_id, product_name, sku, quantity, price, total, " +
+            "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<OrderItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        OrderItem item = items.get(i);
+                        ps.setLong(1, item.getOrder().getId());
+                        setNullableId(ps, 2, item.getProduct() != null ? item.getProduct().getId() : null);
+                        setNullableId(ps, 3, item.getVariant() != null ? item.getVariant().getId() : null);
+                        ps.setString(4, item.getProductName());
+                        ps.setString(5, item.getSku());
+                        ps.setInt(6, item.getQuantity());
+                        ps.setBigDecimal(7, item.getPrice());
+                        ps.setBigDecimal(8, item.getTotal());
+                        ps.setTimestamp(9, timestamp);
+                        ps.setTimestamp(10, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return items.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < items.size() && i < keys.size(); i++) {
+            OrderItem item = items.get(i);
+            item.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            item.setCreatedAt(now);
+            item.setUpdatedAt(now);
+            item.setVersion(0L);
+        }
+    }
+
+    private static void setNullableId(PreparedStatement ps, int index, Long id) throws SQLException {
+        if (id != null) {
+            ps.setLong(index, id);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
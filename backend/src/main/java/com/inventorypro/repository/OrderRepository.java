@@ -1,20 +1,25 @@
 package com.inventorypro.repository;
 
 import com.inventorypro.model.Order;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     
     Optional<Order> findByOrderNumber(String orderNumber);
     
@@ -42,4 +47,31 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
                                  @Param("endDate") LocalDateTime endDate);
     
     Boolean existsByOrderNumber(String orderNumber);
+    
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * (id, reservationExpiresAt) of every order still holding a reservation.
+     */
+    @Query("SELECT o.id, o.reservationExpiresAt FROM Order o " +
+           "WHERE o.status = 'CONFIRMED' AND o.reservationExpiresAt IS NOT NULL")
+    List<Object[]> findReservationDeadlines();
+    
+    /**
+     * (id, reservationExpiresAt) of the reservations due before the given time, a range scan of idx_orders_reservation_expires.
+     */
+    @Query("SELECT o.id, o.reservationExpiresAt FROM Order o " +
+           "WHERE o.status = 'CONFIRMED' AND o.reservationExpiresAt <= :before")
+    List<Object[]> findReservationDeadlinesBefore(@Param("before") LocalDateTime before);
+    
+    /**
+     * Lock the given orders whose reservation has expired. Rows another node is already expiring
+     * are skipped rather than waited for, so each order is released by one node only.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids " +
+           "AND o.status = 'CONFIRMED' AND o.reservationExpiresAt <= :now ORDER BY o.id")
+    List<Order> claimExpiredReservations(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
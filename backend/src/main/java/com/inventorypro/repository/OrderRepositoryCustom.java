@@ -0,0 +1,23 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.SalesRollupHourly;
+import com.inventorypro.service.PricingCart;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SortedMap;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Up to limit orders created in [from, to) with an id above afterId, keyed and ordered by id,
+     * as pricing carts. Cancelled orders are skipped. Reads plain columns only, no entities.
+     */
+    SortedMap<Long, PricingCart> findPricingCarts(LocalDateTime from, LocalDateTime to, long afterId, int limit);
+
+    /**
+     * Non-cancelled orders created in [from, to) aggregated by hour, channel and currency, as
+     * unsaved rollup rows. Used to rebuild the sales rollups from history.
+     */
+    List<SalesRollupHourly> findHourlySales(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,102 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.Customer;
+import com.inventorypro.model.Order;
+import com.inventorypro.model.SalesRollupHourly;
+import com.inventorypro.service.PricingCart;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Set-based reads of historical orders.
+ * Promotion backtesting reads keyset chunks, each two range scans on primary keys: the order
+ * headers, then the lines of the id range they span. Sales rollups are rebuilt from a GROUP BY.
+ */
+@RequiredArgsConstructor
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    private static final String ORDERS_SQL =
+            "SELECT o.id, c.customer_type, o.currency, o.shipping_fee FROM orders o " +
+            "LEFT JOIN customers c ON c.id = o.customer_id " +
+            "WHERE o.id > ? AND o.created_at >= ? AND o.created_at < ? AND o.status <> 'CANCELLED' " +
+            "ORDER BY o.id LIMIT ?";
+
+    private static final String LINES_SQL =
+            "SELECT oi.order_id, oi.product_id, oi.variant_id, p.category_id, oi.quantity, oi.price, oi.total " +
+            "FROM order_items oi LEFT JOIN products p ON p.id = oi.product_id " +
+            "WHERE oi.order_id BETWEEN ? AND ? ORDER BY oi.order_id, oi.id";
+
+    private static final String HOURLY_SALES_SQL =
+            "SELECT CAST(o.created_at AS DATE), HOUR(o.created_at), COALESCE(o.channel, 'ONLINE'), " +
+            "COALESCE(o.currency, 'USD'), COUNT(*), COALESCE(SUM(o.total), 0) FROM orders o " +
+            "WHERE o.created_at >= ? AND o.created_at < ? AND o.status <> 'CANCELLED' " +
+            "GROUP BY CAST(o.created_at AS DATE), HOUR(o.created_at), COALESCE(o.channel, 'ONLINE'), COALESCE(o.currency, 'USD')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public SortedMap<Long, PricingCart> findPricingCarts(LocalDateTime from, LocalDateTime to, long afterId, int limit) {
+        Map<Long, Header> headers = new LinkedHashMap<>();
+        jdbcTemplate.query(ORDERS_SQL, rs -> {
+            String customerType = rs.getString(2);
+            headers.put(rs.getLong(1), new Header(
+                    customerType != null ? Customer.CustomerType.valueOf(customerType) : null,
+                    rs.getString(3),
+                    rs.getBigDecimal(4)));
+        }, afterId, Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+
+        SortedMap<Long, PricingCart> carts = new TreeMap<>();
+        if (headers.isEmpty()) {
+            return carts;
+        }
+
+        Map<Long, List<PricingCart.Line>> lines = new HashMap<>();
+        Iterator<Long> ids = headers.keySet().iterator();
+        long firstId = ids.next();
+        long lastId = firstId;
+        while (ids.hasNext()) {
+            lastId = ids.next();
+        }
+        // Orders in the id range that were filtered out above come back too and are ignored.
+        jdbcTemplate.query(LINES_SQL, rs -> {
+            long orderId = rs.getLong(1);
+            Header header = headers.get(orderId);
+            if (header != null) {
+                lines.computeIfAbsent(orderId, id -> new ArrayList<>()).add(new PricingCart.Line(
+                        nullableLong(rs, 2), nullableLong(rs, 3), nullableLong(rs, 4), rs.getInt(5),
+                        PricingCart.money(rs.getBigDecimal(6), header.currency()),
+                        PricingCart.money(rs.getBigDecimal(7), header.currency())));
+            }
+        }, firstId, lastId);
+
+        headers.forEach((id, header) -> carts.put(id, new PricingCart(header.customerType(), header.currency(),
+                PricingCart.money(header.shippingFee(), header.currency()), lines.getOrDefault(id, List.of()))));
+        return carts;
+    }
+
+    @Override
+    public List<SalesRollupHourly> findHourlySales(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(HOURLY_SALES_SQL, (rs, rowNum) -> SalesRollupHourly.builder()
+                .bucketStart(rs.getDate(1).toLocalDate().atTime(rs.getInt(2), 0))
+                .channel(Order.OrderChannel.valueOf(rs.getString(3)))
+                .currency(rs.getString(4))
+                .orderCount(rs.getLong(5))
+                .salesTotal(rs.getBigDecimal(6))
+                .build(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private static Long nullableLong(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private record Header(Customer.CustomerType customerType, String currency, BigDecimal shippingFee) {
+    }
+}
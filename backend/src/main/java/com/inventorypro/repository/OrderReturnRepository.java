@@ -0,0 +1,16 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.OrderReturn;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderReturnRepository extends JpaRepository<OrderReturn, Long> {
+    
+    Optional<OrderReturn> findByReturnNumber(String returnNumber);
+    
+    List<OrderReturn> findByOrderId(Long orderId);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,4 +32,14 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<String> findAllCategories();
     
     Boolean existsBySku(String sku);
+    
+    /**
+     * Prices of the given products and, joined onto them, of those variants that belong to them,
+     * in one query. Row: productId, categoryId, productPrice, variantId, variantPrice; a product
+     * with none of the variants comes back once with a null variant. variantIds must not be empty.
+     */
+    @Query("SELECT p.id, c.id, p.price, v.id, v.price FROM Product p LEFT JOIN p.category c " +
+           "LEFT JOIN p.variants v ON v.id IN :variantIds WHERE p.id IN :productIds")
+    List<Object[]> findPrices(@Param("productIds") Collection<Long> productIds,
+                              @Param("variantIds") Collection<Long> variantIds);
 }
\ No newline at end of file
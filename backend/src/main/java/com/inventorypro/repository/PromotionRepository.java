@@ -2,19 +2,56 @@ package com.inventorypro.repository;
 
 import com.inventorypro.model.Promotion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PromotionRepository extends JpaRepository<Promotion, Long> {
     
+    /**
+     * Usage limits are not checked here: usage_count includes uses leased by nodes but not yet
+     * redeemed, so it reaches the limit before the promotion is used up. PromotionUsageTracker decides.
+     */
     @Query("SELECT p FROM Promotion p WHERE p.active = true AND " +
            "(p.startDate IS NULL OR p.startDate <= :now) AND " +
-           "(p.endDate IS NULL OR p.endDate >= :now) AND " +
-           "(p.usageLimit IS NULL OR p.usageCount < p.usageLimit)")
+           "(p.endDate IS NULL OR p.endDate >= :now)")
     List<Promotion> findActivePromotions(@Param("now") LocalDateTime now);
-}
\ No newline at end of file
+    
+    /**
+     * Enabled promotions that have not ended yet, including ones that start later, with their rules.
+     * Usage limits are left to PromotionUsageTracker, as above.
+     */
+    @Query("SELECT DISTINCT p FROM Promotion p LEFT JOIN FETCH p.rules WHERE p.active = true AND " +
+           "(p.endDate IS NULL OR p.endDate >= :now)")
+    List<Promotion> findLiveWithRules(@Param("now") LocalDateTime now);
+    
+    @Query("SELECT DISTINCT p FROM Promotion p LEFT JOIN FETCH p.rules ORDER BY p.id")
+    List<Promotion> findAllWithRules();
+    
+    @Query("SELECT DISTINCT p FROM Promotion p LEFT JOIN FETCH p.rules WHERE p.id = :id")
+    Optional<Promotion> findByIdWithRules(@Param("id") Long id);
+    
+    /**
+     * usageCount, usageLimit
+     */
+    @Query("SELECT p.usageCount, p.usageLimit FROM Promotion p WHERE p.id = :id")
+    List<Object[]> findUsage(@Param("id") Long id);
+    
+    /**
+     * Add uses, refusing (0 rows) if that would pass the usage limit.
+     */
+    @Modifying
+    @Query("UPDATE Promotion p SET p.usageCount = p.usageCount + :quantity WHERE p.id = :id AND " +
+           "(p.usageLimit IS NULL OR p.usageCount + :quantity <= p.usageLimit)")
+    int incrementUsage(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    @Modifying
+    @Query("UPDATE Promotion p SET p.usageCount = p.usageCount - :quantity WHERE p.id = :id AND p.usageCount >= :quantity")
+    int decrementUsage(@Param("id") Long id, @Param("quantity") int quantity);
+}
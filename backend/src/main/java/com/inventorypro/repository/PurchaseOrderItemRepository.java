@@ -0,0 +1,25 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.PurchaseOrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PurchaseOrderItemRepository extends JpaRepository<PurchaseOrderItem, Long>, PurchaseOrderItemRepositoryCustom {
+
+    @Query("SELECT poi FROM PurchaseOrderItem poi WHERE poi.purchaseOrder.id = :purchaseOrderId ORDER BY poi.id")
+    List<PurchaseOrderItem> findByPurchaseOrderId(@Param("purchaseOrderId") Long purchaseOrderId);
+
+    /**
+     * Quantity still to be received per SKU on purchase orders that are not closed, drafts included,
+     * so re-running replenishment does not order the same shortfall twice.
+     */
+    @Query("SELECT poi.sku, SUM(poi.quantity - poi.receivedQuantity) FROM PurchaseOrderItem poi " +
+           "WHERE poi.purchaseOrder.status IN ('DRAFT', 'ORDERED', 'PARTIALLY_RECEIVED') " +
+           "GROUP BY poi.sku")
+    List<Object[]> getOpenQuantityBySku();
+}
@@ -0,0 +1,14 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.PurchaseOrderItem;
+
+import java.util.List;
+
+public interface PurchaseOrderItemRepositoryCustom {
+
+    /**
+     * Insert all items in one JDBC batch. Items must reference a purchase order that has
+     * already been inserted; generated ids are not read back.
+     */
+    void batchInsert(List<PurchaseOrderItem> items);
+}
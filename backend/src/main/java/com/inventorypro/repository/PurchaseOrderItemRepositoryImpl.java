@@ -0,0 +1,66 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.PurchaseOrderItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch insert for purchase order lines.
+ * PurchaseOrderItem ids are IDENTITY generated, which makes Hibernate insert row by row.
+ */
+@RequiredArgsConstructor
+public class PurchaseOrderItemRepositoryImpl implements PurchaseOrderItemRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO purchase_order_items (purchase_order_id, product_id, variant_id, product_name, sku, " +
+            "quantity, cost_price, received_quantity, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<PurchaseOrderItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PurchaseOrderItem item = items.get(i);
+                ps.setLong(1, item.getPurchaseOrder().getId());
+                setNullableId(ps, 2, item.getProduct() != null ? item.getProduct().getId() : null);
+                setNullableId(ps, 3, item.getVariant() != null ? item.getVariant().getId() : null);
+                ps.setString(4, item.getProductName());
+                ps.setString(5, item.getSku());
+                ps.setInt(6, item.getQuantity());
+                ps.setBigDecimal(7, item.getCostPrice());
+                ps.setInt(8, item.getReceivedQuantity() != null ? item.getReceivedQuantity() : 0);
+                ps.setTimestamp(9, now);
+                ps.setTimestamp(10, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return items.size();
+            }
+        });
+    }
+
+    private static void setNullableId(PreparedStatement ps, int index, Long id) throws SQLException {
+        if (id != null) {
+            ps.setLong(index, id);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.PurchaseOrder;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
+
+    Optional<PurchaseOrder> findByPoNumber(String poNumber);
+
+    /**
+     * Serializes receipts against the same purchase order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT po FROM PurchaseOrder po WHERE po.id = :id")
+    Optional<PurchaseOrder> findByIdForUpdate(@Param("id") Long id);
+}
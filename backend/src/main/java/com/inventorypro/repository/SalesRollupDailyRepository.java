@@ -0,0 +1,42 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.Order;
+import com.inventorypro.model.SalesRollupDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesRollupDailyRepository extends JpaRepository<SalesRollupDaily, Long>, SalesRollupDailyRepositoryCustom {
+
+    /**
+     * Day, currency, order count and sales total per day and currency in [from, to], optionally for one channel.
+     */
+    @Query("SELECT r.salesDate, r.currency, SUM(r.orderCount), SUM(r.salesTotal) FROM SalesRollupDaily r " +
+           "WHERE r.salesDate BETWEEN :from AND :to AND (:channel IS NULL OR r.channel = :channel) " +
+           "GROUP BY r.salesDate, r.currency ORDER BY r.salesDate, r.currency")
+    List<Object[]> sumByDay(@Param("from") LocalDate from,
+                            @Param("to") LocalDate to,
+                            @Param("channel") Order.OrderChannel channel);
+
+    /**
+     * Year, month, currency, order count and sales total per calendar month and currency in [from, to].
+     */
+    @Query("SELECT YEAR(r.salesDate), MONTH(r.salesDate), r.currency, SUM(r.orderCount), SUM(r.salesTotal) " +
+           "FROM SalesRollupDaily r " +
+           "WHERE r.salesDate BETWEEN :from AND :to AND (:channel IS NULL OR r.channel = :channel) " +
+           "GROUP BY YEAR(r.salesDate), MONTH(r.salesDate), r.currency " +
+           "ORDER BY YEAR(r.salesDate), MONTH(r.salesDate), r.currency")
+    List<Object[]> sumByMonth(@Param("from") LocalDate from,
+                              @Param("to") LocalDate to,
+                              @Param("channel") Order.OrderChannel channel);
+
+    @Modifying
+    @Query("DELETE FROM SalesRollupDaily r WHERE r.salesDate >= :from AND r.salesDate < :to")
+    int deleteByPeriod(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,15 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface SalesRollupDailyRepositoryCustom {
+
+    /**
+     * Add to the day's row for the channel and currency, creating it if needed.
+     * Amounts may be negative when an order is cancelled or deleted.
+     */
+    void add(LocalDate salesDate, Order.OrderChannel channel, String currency, long orderCount, BigDecimal salesTotal);
+}
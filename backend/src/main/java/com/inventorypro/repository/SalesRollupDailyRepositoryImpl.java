@@ -0,0 +1,26 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Increments rollup rows in place; loading and saving the entity would lose concurrent updates
+ * or fail them on the version check.
+ */
+@RequiredArgsConstructor
+public class SalesRollupDailyRepositoryImpl implements SalesRollupDailyRepositoryCustom {
+
+    private static final SalesRollupUpsert UPSERT = new SalesRollupUpsert("sales_rollup_daily", "sales_date");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void add(LocalDate salesDate, Order.OrderChannel channel, String currency, long orderCount, BigDecimal salesTotal) {
+        UPSERT.add(jdbcTemplate, Date.valueOf(salesDate), channel, currency, orderCount, salesTotal);
+    }
+}
@@ -0,0 +1,30 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.Order;
+import com.inventorypro.model.SalesRollupHourly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SalesRollupHourlyRepository extends JpaRepository<SalesRollupHourly, Long>, SalesRollupHourlyRepositoryCustom {
+
+    /**
+     * Hour, currency, order count and sales total per hour and currency in [from, to], optionally for one channel.
+     */
+    @Query("SELECT r.bucketStart, r.currency, SUM(r.orderCount), SUM(r.salesTotal) FROM SalesRollupHourly r " +
+           "WHERE r.bucketStart BETWEEN :from AND :to AND (:channel IS NULL OR r.channel = :channel) " +
+           "GROUP BY r.bucketStart, r.currency ORDER BY r.bucketStart, r.currency")
+    List<Object[]> sumByHour(@Param("from") LocalDateTime from,
+                             @Param("to") LocalDateTime to,
+                             @Param("channel") Order.OrderChannel channel);
+
+    @Modifying
+    @Query("DELETE FROM SalesRollupHourly r WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+    int deleteByPeriod(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
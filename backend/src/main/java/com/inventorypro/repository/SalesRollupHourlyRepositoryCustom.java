@@ -0,0 +1,15 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface SalesRollupHourlyRepositoryCustom {
+
+    /**
+     * Add to the hour's row for the channel and currency, creating it if needed.
+     * Amounts may be negative when an order is cancelled or deleted.
+     */
+    void add(LocalDateTime bucketStart, Order.OrderChannel channel, String currency, long orderCount, BigDecimal salesTotal);
+}
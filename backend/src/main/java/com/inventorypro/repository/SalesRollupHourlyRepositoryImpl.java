@@ -0,0 +1,25 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Increments rollup rows in place, like {@link SalesRollupDailyRepositoryImpl}.
+ */
+@RequiredArgsConstructor
+public class SalesRollupHourlyRepositoryImpl implements SalesRollupHourlyRepositoryCustom {
+
+    private static final SalesRollupUpsert UPSERT = new SalesRollupUpsert("sales_rollup_hourly", "bucket_start");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void add(LocalDateTime bucketStart, Order.OrderChannel channel, String currency, long orderCount, BigDecimal salesTotal) {
+        UPSERT.add(jdbcTemplate, Timestamp.valueOf(bucketStart), channel, currency, orderCount, salesTotal);
+    }
+}
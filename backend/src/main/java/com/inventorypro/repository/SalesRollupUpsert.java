@@ -0,0 +1,46 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Adds to one sales rollup row: an in-place increment, or an insert when the bucket has no row yet.
+ * Two transactions inserting the same new bucket race on the unique key; the loser increments
+ * the winner's row instead.
+ */
+final class SalesRollupUpsert {
+
+    private final String updateSql;
+    private final String insertSql;
+
+    SalesRollupUpsert(String table, String bucketColumn) {
+        this.updateSql = "UPDATE " + table + " SET order_count = order_count + ?, sales_total = sales_total + ?, " +
+                "updated_at = ?, version = version + 1 " +
+                "WHERE " + bucketColumn + " = ? AND channel = ? AND currency = ?";
+        this.insertSql = "INSERT INTO " + table + " (" + bucketColumn + ", channel, currency, order_count, sales_total, " +
+                "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    }
+
+    void add(JdbcTemplate jdbcTemplate, Object bucket, Order.OrderChannel channel, String currency,
+             long orderCount, BigDecimal salesTotal) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (update(jdbcTemplate, bucket, channel, currency, orderCount, salesTotal, now) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(insertSql, bucket, channel.name(), currency, orderCount, salesTotal, now, now);
+        } catch (DuplicateKeyException e) {
+            update(jdbcTemplate, bucket, channel, currency, orderCount, salesTotal, now);
+        }
+    }
+
+    private int update(JdbcTemplate jdbcTemplate, Object bucket, Order.OrderChannel channel, String currency,
+                       long orderCount, BigDecimal salesTotal, Timestamp now) {
+        return jdbcTemplate.update(updateSql, orderCount, salesTotal, now, bucket, channel.name(), currency);
+    }
+}
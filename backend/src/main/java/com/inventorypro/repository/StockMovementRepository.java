@@ -0,0 +1,31 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.StockMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long>, StockMovementRepositoryCustom {
+    
+    List<StockMovement> findByInventoryItemIdOrderByCreatedAtDesc(Long inventoryItemId);
+    
+    List<StockMovement> findByReferenceTypeAndReferenceId(StockMovement.ReferenceType referenceType, Long referenceId);
+    
+    @Query("SELECT m FROM StockMovement m WHERE m.inventoryItem.id = :inventoryItemId " +
+           "AND m.createdAt > :after AND m.createdAt <= :upTo ORDER BY m.createdAt, m.id")
+    List<StockMovement> findMovementTail(@Param("inventoryItemId") Long inventoryItemId,
+                                         @Param("after") LocalDateTime after,
+                                         @Param("upTo") LocalDateTime upTo);
+    
+    /**
+     * Oldest movements first, so archival walks idx_stock_movements_created in order.
+     */
+    @Query("SELECT m FROM StockMovement m WHERE m.createdAt < :horizon ORDER BY m.createdAt, m.id")
+    List<StockMovement> findArchivable(@Param("horizon") LocalDateTime horizon, Pageable pageable);
+}
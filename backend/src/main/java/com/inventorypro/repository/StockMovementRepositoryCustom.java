@@ -0,0 +1,20 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.StockMovement;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockMovementRepositoryCustom {
+
+    /**
+     * Insert all movements in one JDBC batch.
+     */
+    void batchInsert(List<StockMovement> movements);
+
+    /**
+     * Copy the given movements into stock_movements_archive and delete them from the hot table.
+     * Returns the number of movements moved.
+     */
+    int moveToArchive(List<Long> ids, LocalDateTime archivedAt);
+}
@@ -0,0 +1,87 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.StockMovement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC batch insert for stock movements.
+ * Movement ids are IDENTITY generated, which makes Hibernate insert row by row.
+ */
+@RequiredArgsConstructor
+public class StockMovementRepositoryImpl implements StockMovementRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_movements (inventory_item_id, movement_type, quantity, previous_stock, new_stock, " +
+            "reason_code, reason, reference_type, reference_id, created_by, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String ARCHIVE_COLUMNS =
+            "id, inventory_item_id, movement_type, quantity, previous_stock, new_stock, reason_code, reason, " +
+            "reference_type, reference_id, created_by, created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, movements, movements.size(), (ps, movement) -> {
+            ps.setLong(1, movement.getInventoryItem().getId());
+            ps.setString(2, movement.getMovementType().name());
+            ps.setInt(3, movement.getQuantity());
+            ps.setInt(4, movement.getPreviousStock());
+            ps.setInt(5, movement.getNewStock());
+            if (movement.getReasonCode() != null) {
+                ps.setString(6, movement.getReasonCode().name());
+            } else {
+                ps.setNull(6, Types.VARCHAR);
+            }
+            ps.setString(7, movement.getReason());
+            if (movement.getReferenceType() != null) {
+                ps.setString(8, movement.getReferenceType().name());
+            } else {
+                ps.setNull(8, Types.VARCHAR);
+            }
+            if (movement.getReferenceId() != null) {
+                ps.setLong(9, movement.getReferenceId());
+            } else {
+                ps.setNull(9, Types.BIGINT);
+            }
+            if (movement.getCreatedBy() != null) {
+                ps.setLong(10, movement.getCreatedBy().getId());
+            } else {
+                ps.setNull(10, Types.BIGINT);
+            }
+            ps.setTimestamp(11, now);
+            ps.setTimestamp(12, now);
+        });
+    }
+
+    @Override
+    public int moveToArchive(List<Long> ids, LocalDateTime archivedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] archiveArgs = new Object[ids.size() + 1];
+        archiveArgs[0] = Timestamp.valueOf(archivedAt);
+        for (int i = 0; i < ids.size(); i++) {
+            archiveArgs[i + 1] = ids.get(i);
+        }
+
+        jdbcTemplate.update("INSERT INTO stock_movements_archive (" + ARCHIVE_COLUMNS + ", archived_at) " +
+                "SELECT " + ARCHIVE_COLUMNS + ", ? FROM stock_movements WHERE id IN (" + placeholders + ")", archiveArgs);
+        return jdbcTemplate.update("DELETE FROM stock_movements WHERE id IN (" + placeholders + ")", ids.toArray());
+    }
+}
@@ -0,0 +1,18 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.StockMovementSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockMovementSummaryRepository extends JpaRepository<StockMovementSummary, Long> {
+    
+    List<StockMovementSummary> findByInventoryItemIdOrderByPeriodStart(Long inventoryItemId);
+    
+    List<StockMovementSummary> findByInventoryItemIdInAndPeriodStartIn(Collection<Long> inventoryItemIds,
+                                                                       Collection<LocalDate> periodStarts);
+}
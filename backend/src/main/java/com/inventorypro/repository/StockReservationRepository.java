@@ -0,0 +1,14 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    
+    List<StockReservation> findByOrderIdIn(Collection<Long> orderIds);
+}
@@ -0,0 +1,20 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long>, StockSnapshotRepositoryCustom {
+
+    Optional<StockSnapshot> findFirstByInventoryItemIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(
+            Long inventoryItemId, LocalDateTime asOf);
+
+    @Query("SELECT MAX(s.snapshotAt) FROM StockSnapshot s WHERE s.snapshotAt <= :asOf")
+    Optional<LocalDateTime> findLatestSnapshotTime(@Param("asOf") LocalDateTime asOf);
+}
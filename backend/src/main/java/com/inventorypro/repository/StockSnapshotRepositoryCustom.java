@@ -0,0 +1,23 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.dto.response.StockLevelResponse;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+public interface StockSnapshotRepositoryCustom {
+
+    /**
+     * Copy the stock of inventory items with id in (afterId, afterId + limit] into snapshots
+     * taken at the given time, in a single INSERT ... SELECT. Returns the number of rows written.
+     */
+    int insertSnapshots(LocalDateTime snapshotAt, long afterId, int limit);
+
+    /**
+     * Stream the on-hand stock of every item as of the given time, in inventory item id order.
+     * Each item starts from its snapshot at snapshotAt (if any) and takes the new stock of its
+     * last on-hand movement in (snapshotAt, asOf], live or archived. A null snapshotAt replays
+     * from the beginning.
+     */
+    void streamStockAsOf(LocalDateTime snapshotAt, LocalDateTime asOf, Consumer<StockLevelResponse> consumer);
+}
@@ -0,0 +1,86 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.dto.response.StockLevelResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Set-based snapshot writes and the streamed as-of export; both touch every inventory item,
+ * which is not something to push through the persistence context.
+ */
+@RequiredArgsConstructor
+public class StockSnapshotRepositoryImpl implements StockSnapshotRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_snapshots (inventory_item_id, snapshot_at, current_stock, reserved_stock, " +
+            "created_at, updated_at, version) " +
+            "SELECT i.id, ?, i.current_stock, i.reserved_stock, ?, ?, 0 FROM inventory_items i " +
+            "WHERE i.id > ? AND i.id <= ?";
+
+    private static final String STOCK_AS_OF_SQL =
+            "SELECT i.id, i.sku, i.warehouse, s.current_stock, COALESCE(m.new_stock, a.new_stock), t.movement_count " +
+            "FROM inventory_items i " +
+            "LEFT JOIN stock_snapshots s ON s.inventory_item_id = i.id AND s.snapshot_at = ? " +
+            "LEFT JOIN (SELECT inventory_item_id, MAX(id) AS last_id, COUNT(*) AS movement_count FROM (" +
+            "           SELECT id, inventory_item_id FROM stock_movements " +
+            "           WHERE created_at > ? AND created_at <= ? AND movement_type NOT IN ('RESERVED', 'RELEASED') " +
+            "           UNION ALL " +
+            "           SELECT id, inventory_item_id FROM stock_movements_archive " +
+            "           WHERE created_at > ? AND created_at <= ? AND movement_type NOT IN ('RESERVED', 'RELEASED')" +
+            "         ) tail GROUP BY inventory_item_id) t ON t.inventory_item_id = i.id " +
+            "LEFT JOIN stock_movements m ON m.id = t.last_id " +
+            "LEFT JOIN stock_movements_archive a ON a.id = t.last_id " +
+            "WHERE i.created_at <= ? " +
+            "ORDER BY i.id";
+
+    private static final Timestamp BEGINNING = Timestamp.valueOf("1970-01-01 00:00:00");
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertSnapshots(LocalDateTime snapshotAt, long afterId, int limit) {
+        Timestamp at = Timestamp.valueOf(snapshotAt);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(INSERT_SQL, at, now, now, afterId, afterId + limit);
+    }
+
+    @Override
+    public void streamStockAsOf(LocalDateTime snapshotAt, LocalDateTime asOf, Consumer<StockLevelResponse> consumer) {
+        Timestamp from = snapshotAt != null ? Timestamp.valueOf(snapshotAt) : BEGINNING;
+        Timestamp to = Timestamp.valueOf(asOf);
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(STOCK_AS_OF_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            ps.setTimestamp(1, from);
+            ps.setTimestamp(2, from);
+            ps.setTimestamp(3, to);
+            ps.setTimestamp(4, from);
+            ps.setTimestamp(5, to);
+            ps.setTimestamp(6, to);
+            return ps;
+        }, rs -> {
+            int snapshotStock = rs.getInt(4);
+            boolean hasSnapshot = !rs.wasNull();
+            int lastMovementStock = rs.getInt(5);
+            boolean hasMovements = !rs.wasNull();
+
+            consumer.accept(new StockLevelResponse(
+                    rs.getLong(1),
+                    rs.getString(2),
+                    rs.getString(3),
+                    asOf,
+                    hasMovements ? lastMovementStock : snapshotStock,
+                    hasSnapshot ? snapshotAt : null,
+                    rs.getInt(6)));
+        });
+    }
+}
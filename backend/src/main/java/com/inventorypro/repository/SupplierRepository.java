@@ -0,0 +1,9 @@
+package com.inventorypro.repository;
+
+import com.inventorypro.model.Supplier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+}
@@ -1,15 +1,28 @@
 package com.inventorypro.service;
 
+import com.inventorypro.dto.response.BundleStockResponse;
 import com.inventorypro.model.Bundle;
 import com.inventorypro.model.BundleItem;
 import com.inventorypro.repository.BundleRepository;
 import com.inventorypro.service.InventoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ADR 02: Bundle service for managing combo products
- * Stock calculation is done dynamically based on component products
+ * Stock calculation is done dynamically based on component products.
+ * Component stock for any number of bundles comes from one grouped query. Bundle stock is kept
+ * warm in memory together with a reverse index from component product to bundles, so a stock
+ * change recomputes only the bundles that contain the changed products.
+ * Stock change events are local to the node, so the whole index is also rebuilt on an interval;
+ * that picks up stock moved and bundles edited on other nodes.
  */
 @Service
 public class BundleService {
@@ -20,20 +33,60 @@ public class BundleService {
     @Autowired
     private InventoryService inventoryService;
 
+    // bundleId -> (component productId -> quantity per bundle)
+    private final Map<Long, Map<Long, Integer>> componentsByBundle = new ConcurrentHashMap<>();
+
+    // component productId -> bundleIds containing it
+    private final Map<Long, Set<Long>> bundlesByProduct = new ConcurrentHashMap<>();
+
+    private final Map<Long, Integer> bundleStock = new ConcurrentHashMap<>();
+
     /**
      * Calculate available stock for a bundle based on its components
      * The bundle stock is limited by the component with the lowest available stock
      */
     public Integer calculateBundleStock(Bundle bundle) {
-        Integer minStock = Integer.MAX_VALUE;
+        Map<Long, Integer> components = componentsOf(bundle);
+        return stockOf(components, inventoryService.getTotalStockByProductIds(components.keySet()));
+    }
 
-        for (BundleItem item : bundle.getItems()) {
-            Integer productStock = inventoryService.getTotalStockByProductId(item.getProduct().getId());
-            Integer availableForBundle = productStock / item.getQuantity();
-            minStock = Math.min(minStock, availableForBundle);
+    /**
+     * Stock of the given bundles, served from memory; bundles not indexed yet are loaded
+     * and computed together.
+     */
+    public Map<Long, Integer> getBundleStock(Collection<Long> bundleIds) {
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long bundleId : bundleIds) {
+            Integer stock = bundleStock.get(bundleId);
+            if (stock != null) {
+                result.put(bundleId, stock);
+            } else {
+                missing.add(bundleId);
+            }
         }
 
-        return minStock == Integer.MAX_VALUE ? 0 : minStock;
+        if (!missing.isEmpty()) {
+            Map<Long, Integer> loaded = index(bundleRepository.findAllWithItemsByIdIn(missing));
+            for (Long bundleId : missing) {
+                result.put(bundleId, loaded.getOrDefault(bundleId, 0));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Active bundles with their stock: one query for the bundles, stock from memory.
+     */
+    public List<BundleStockResponse> listBundleStock() {
+        List<Bundle> bundles = bundleRepository.findAllActive();
+        Map<Long, Integer> stock = getBundleStock(bundles.stream().map(Bundle::getId).toList());
+        List<BundleStockResponse> result = new ArrayList<>(bundles.size());
+        for (Bundle bundle : bundles) {
+            result.add(new BundleStockResponse(bundle.getId(), bundle.getSku(), bundle.getName(),
+                    bundle.getPrice(), bundle.getCurrency(), stock.get(bundle.getId())));
+        }
+        return result;
     }
 
     /**
@@ -43,4 +96,119 @@ public class BundleService {
         Integer availableStock = calculateBundleStock(bundle);
         return availableStock >= requestedQuantity;
     }
-}
\ No newline at end of file
+
+    /**
+     * Drop a bundle from the index after its components changed or it was removed;
+     * it is reloaded on next access.
+     */
+    public void evictBundle(Long bundleId) {
+        Map<Long, Integer> components = componentsByBundle.remove(bundleId);
+        if (components != null) {
+            components.keySet().forEach(productId -> bundlesByProduct.computeIfPresent(productId, (id, bundles) -> {
+                bundles.remove(bundleId);
+                return bundles.isEmpty() ? null : bundles;
+            }));
+        }
+        bundleStock.remove(bundleId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBundlesChanged(BundlesChangedEvent event) {
+        evictBundle(event.getBundleId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        index(bundleRepository.findAllActiveWithItems());
+    }
+
+    /**
+     * Recompute every active bundle from the database and drop the ones no longer active.
+     */
+    @Scheduled(fixedDelayString = "${bundle-stock.refresh-interval-ms:30000}",
+               initialDelayString = "${bundle-stock.refresh-interval-ms:30000}")
+    public void refresh() {
+        List<Bundle> bundles = bundleRepository.findAllActiveWithItems();
+        Set<Long> active = new HashSet<>();
+        bundles.forEach(bundle -> active.add(bundle.getId()));
+        for (Long bundleId : new ArrayList<>(componentsByBundle.keySet())) {
+            if (!active.contains(bundleId)) {
+                evictBundle(bundleId);
+            }
+        }
+        index(bundles);
+    }
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        Map<Long, Map<Long, Integer>> affected = new HashMap<>();
+        for (Long productId : event.getProductIds()) {
+            for (Long bundleId : bundlesByProduct.getOrDefault(productId, Collections.emptySet())) {
+                Map<Long, Integer> components = componentsByBundle.get(bundleId);
+                if (components != null) {
+                    affected.put(bundleId, components);
+                }
+            }
+        }
+        if (!affected.isEmpty()) {
+            // A bundle evicted while its stock was computed stays evicted.
+            computeStock(affected).forEach((bundleId, stock) -> {
+                if (componentsByBundle.containsKey(bundleId)) {
+                    bundleStock.put(bundleId, stock);
+                }
+            });
+        }
+    }
+
+    private Map<Long, Integer> index(Collection<Bundle> bundles) {
+        Map<Long, Map<Long, Integer>> components = new HashMap<>();
+        for (Bundle bundle : bundles) {
+            Map<Long, Integer> bundleComponents = componentsOf(bundle);
+            components.put(bundle.getId(), bundleComponents);
+            Map<Long, Integer> previous = componentsByBundle.put(bundle.getId(), bundleComponents);
+            if (previous != null) {
+                previous.keySet().stream()
+                        .filter(productId -> !bundleComponents.containsKey(productId))
+                        .forEach(productId -> bundlesByProduct.computeIfPresent(productId, (id, bundleIds) -> {
+                            bundleIds.remove(bundle.getId());
+                            return bundleIds.isEmpty() ? null : bundleIds;
+                        }));
+            }
+            bundleComponents.keySet().forEach(productId ->
+                    bundlesByProduct.computeIfAbsent(productId, id -> ConcurrentHashMap.newKeySet()).add(bundle.getId()));
+        }
+
+        Map<Long, Integer> stock = computeStock(components);
+        bundleStock.putAll(stock);
+        return stock;
+    }
+
+    private Map<Long, Integer> computeStock(Map<Long, Map<Long, Integer>> components) {
+        Set<Long> productIds = new HashSet<>();
+        components.values().forEach(bundleComponents -> productIds.addAll(bundleComponents.keySet()));
+        Map<Long, Integer> productStock = inventoryService.getTotalStockByProductIds(productIds);
+
+        Map<Long, Integer> stock = new HashMap<>();
+        components.forEach((bundleId, bundleComponents) -> stock.put(bundleId, stockOf(bundleComponents, productStock)));
+        return stock;
+    }
+
+    private Map<Long, Integer> componentsOf(Bundle bundle) {
+        Map<Long, Integer> components = new HashMap<>();
+        for (BundleItem item : bundle.getItems()) {
+            components.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        return components;
+    }
+
+    private Integer stockOf(Map<Long, Integer> components, Map<Long, Integer> productStock) {
+        Integer minStock = Integer.MAX_VALUE;
+
+        for (Map.Entry<Long, Integer> component : components.entrySet()) {
+            Integer availableForBundle = productStock.getOrDefault(component.getKey(), 0) / component.getValue();
+            minStock = Math.min(minStock, availableForBundle);
+        }
+
+        return minStock == Integer.MAX_VALUE ? 0 : minStock;
+    }
+}
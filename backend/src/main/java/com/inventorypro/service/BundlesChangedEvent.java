@@ -0,0 +1,14 @@
+package com.inventorypro.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a bundle or one of its items is written; the bundle stock index drops the bundle after commit.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BundlesChangedEvent {
+
+    private final Long bundleId;
+}
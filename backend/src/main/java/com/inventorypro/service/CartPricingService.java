@@ -0,0 +1,20 @@
+package com.inventorypro.service;
+
+import com.inventorypro.dto.request.CartPricingRequest;
+import com.inventorypro.dto.response.CartPricingResponse;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Stateless price quotes for many carts at once. Nothing is reserved, redeemed or saved.
+ */
+public interface CartPricingService {
+
+    /**
+     * Resolve every product and variant the carts reference in one query, then price the carts
+     * in parallel against the in-memory promotion catalog. Results come back in request order
+     * and can be written out as each one completes.
+     */
+    List<CompletableFuture<CartPricingResponse>> priceCarts(CartPricingRequest request);
+}
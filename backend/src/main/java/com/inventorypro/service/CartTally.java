@@ -0,0 +1,80 @@
+package com.inventorypro.service;
+
+import java.util.*;
+
+/**
+ * Per-product and per-category quantities of a cart, with the lines behind them, built in
+ * one pass over the lines. Item-level promotions read these instead of scanning the lines,
+ * so their cost depends on how many products they name, not on the size of the cart.
+ */
+public class CartTally {
+
+    private final Map<Long, Tally> byProduct = new HashMap<>();
+    private final Map<Long, Tally> byCategory = new HashMap<>();
+
+    public CartTally(PricingCart cart) {
+        List<PricingCart.Line> lines = cart.getLines();
+        for (int i = 0; i < lines.size(); i++) {
+            PricingCart.Line line = lines.get(i);
+            if (line.getProductId() != null) {
+                byProduct.computeIfAbsent(line.getProductId(), id -> new Tally()).add(i, line.getQuantity());
+            }
+            if (line.getCategoryId() != null) {
+                byCategory.computeIfAbsent(line.getCategoryId(), id -> new Tally()).add(i, line.getQuantity());
+            }
+        }
+    }
+
+    public int productQuantity(Long productId) {
+        Tally tally = byProduct.get(productId);
+        return tally != null ? tally.quantity : 0;
+    }
+
+    public List<Integer> productLines(Long productId) {
+        Tally tally = byProduct.get(productId);
+        return tally != null ? tally.lines : List.of();
+    }
+
+    /**
+     * Indexes of the lines in scope, in cart order.
+     */
+    public List<Integer> lines(PromotionAction.ItemScope scope) {
+        List<Integer> lines = new ArrayList<>();
+        collect(scope.productIds(), byProduct, lines);
+        collect(scope.categoryIds(), byCategory, lines);
+        if (!scope.productIds().isEmpty() && !scope.categoryIds().isEmpty()) {
+            // A line can be reached through both its product and its category.
+            lines = new ArrayList<>(new TreeSet<>(lines));
+        } else {
+            Collections.sort(lines);
+        }
+        return lines;
+    }
+
+    private static void collect(Set<Long> keys, Map<Long, Tally> tallies, List<Integer> target) {
+        if (keys.size() <= tallies.size()) {
+            for (Long key : keys) {
+                Tally tally = tallies.get(key);
+                if (tally != null) {
+                    target.addAll(tally.lines);
+                }
+            }
+        } else {
+            tallies.forEach((key, tally) -> {
+                if (keys.contains(key)) {
+                    target.addAll(tally.lines);
+                }
+            });
+        }
+    }
+
+    private static final class Tally {
+        private int quantity;
+        private final List<Integer> lines = new ArrayList<>(1);
+
+        private void add(int line, int quantity) {
+            this.quantity += quantity;
+            lines.add(line);
+        }
+    }
+}
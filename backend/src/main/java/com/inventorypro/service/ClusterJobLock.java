@@ -0,0 +1,78 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.JobLock;
+import com.inventorypro.repository.JobLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Runs a scheduled job on one node at a time, using a lease row in {@code job_locks}.
+ * The lease is taken and released in transactions of their own, so it is visible to other nodes
+ * while the job runs and the job's own transactions have committed before it is given back.
+ * A node that dies mid-run holds the lease until {@code lockAtMostFor} passes. {@code lockAtLeastFor}
+ * keeps the lease after a short run, so nodes whose clocks fire a little later do not run it again.
+ */
+@Component
+@Slf4j
+public class ClusterJobLock {
+
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate lockTransaction;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+
+    public ClusterJobLock(JobLockRepository jobLockRepository, PlatformTransactionManager transactionManager) {
+        this.jobLockRepository = jobLockRepository;
+        this.lockTransaction = new TransactionTemplate(transactionManager);
+        this.lockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Run the job if no other node holds its lease; returns false if it was skipped.
+     */
+    public boolean runExclusively(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable job) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        if (!tryAcquire(jobName, startedAt, startedAt.plus(lockAtMostFor))) {
+            log.debug("Job {} is running on another node, skipping", jobName);
+            return false;
+        }
+        try {
+            job.run();
+        } finally {
+            LocalDateTime keepUntil = startedAt.plus(lockAtLeastFor);
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime until = keepUntil.isAfter(now) ? keepUntil : now;
+            lockTransaction.executeWithoutResult(status -> jobLockRepository.release(jobName, owner, until));
+        }
+        return true;
+    }
+
+    private boolean tryAcquire(String jobName, LocalDateTime now, LocalDateTime until) {
+        try {
+            return Boolean.TRUE.equals(lockTransaction.execute(status -> {
+                if (jobLockRepository.acquire(jobName, owner, now, until) > 0) {
+                    return true;
+                }
+                if (jobLockRepository.existsByJobName(jobName)) {
+                    return false;
+                }
+                jobLockRepository.saveAndFlush(JobLock.builder()
+                        .jobName(jobName)
+                        .lockedUntil(until)
+                        .lockedBy(owner)
+                        .build());
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the row first and holds the lease.
+            return false;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.Promotion;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable, evaluation-ready form of a {@link Promotion} and its rules.
+ */
+@Getter
+public class CompiledPromotion {
+
+    private final Long id;
+    private final String name;
+    private final Promotion.PromotionType type;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final Integer usageLimit;
+    private final int priority;
+    private final String exclusivityGroup;
+    private final boolean exclusive;
+    private final List<PromotionCondition> conditions;
+    private final PromotionAction action;
+
+    public CompiledPromotion(Long id, String name, Promotion.PromotionType type,
+                             LocalDateTime startDate, LocalDateTime endDate, Integer usageLimit, int priority,
+                             String exclusivityGroup, boolean exclusive,
+                             List<PromotionCondition> conditions, PromotionAction action) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.usageLimit = usageLimit;
+        this.priority = priority;
+        this.exclusivityGroup = exclusivityGroup;
+        this.exclusive = exclusive;
+        this.conditions = List.copyOf(conditions);
+        this.action = action;
+    }
+
+    public boolean isActiveAt(LocalDateTime now) {
+        return (startDate == null || !startDate.isAfter(now)) && (endDate == null || !endDate.isBefore(now));
+    }
+
+    public boolean appliesTo(PricingCart cart) {
+        for (PromotionCondition condition : conditions) {
+            if (!condition.test(cart)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Allocate this promotion's discount on a cart it applies to.
+     */
+    public PromotionApplication apply(PricingCart cart, CartTally tally) {
+        PromotionApplication application = new PromotionApplication(this, cart);
+        action.allocate(cart, tally, application);
+        return application;
+    }
+}
@@ -1,6 +1,7 @@
 package com.inventorypro.service;
 
 import com.inventorypro.dto.response.DashboardStatsResponse;
+import com.inventorypro.model.Order;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,7 +11,12 @@ public interface DashboardService {
     
     DashboardStatsResponse getDashboardStats();
     
-    List<Map<String, Object>> getSalesData(LocalDateTime startDate, LocalDateTime endDate);
+    /**
+     * Order count and sales per month, day or hour and currency, read from the sales rollups.
+     * Daily and monthly figures cover whole days, hourly figures whole hours.
+     */
+    List<Map<String, Object>> getSalesData(LocalDateTime startDate, LocalDateTime endDate,
+                                           String interval, Order.OrderChannel channel);
     
     List<Map<String, Object>> getTopSellingProducts(LocalDateTime startDate, LocalDateTime endDate);
     
@@ -2,8 +2,12 @@ package com.inventorypro.service;
 
 import com.inventorypro.dto.request.StockAdjustmentRequest;
 import com.inventorypro.model.InventoryItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface InventoryService {
@@ -18,13 +22,27 @@ public interface InventoryService {
     
     List<InventoryItem> getLowStockItems();
     
+    /**
+     * Low-stock items, most severe shortfall first.
+     */
+    Page<InventoryItem> getLowStockItems(Pageable pageable);
+    
+    long countLowStockItems();
+    
     List<InventoryItem> getOutOfStockItems();
     
+    long countOutOfStockItems();
+    
     InventoryItem updateStock(Long id, StockAdjustmentRequest request);
     
     InventoryItem adjustStock(Long id, Integer adjustment);
     
     Integer getTotalStockByProductId(Long productId);
     
+    /**
+     * Total current stock per product in one grouped query; products without inventory map to 0.
+     */
+    Map<Long, Integer> getTotalStockByProductIds(Collection<Long> productIds);
+    
     void deleteInventoryItem(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,216 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.InventoryItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Serves an order from as few warehouses as possible, so it ships in as few parcels as possible.
+ * Availability is first folded into a line x warehouse matrix. The smallest covering set of
+ * warehouses is then searched exhaustively up to {@code max-exhaustive-split} warehouses, with
+ * combinations tried in warehouse priority order so the first cover found is also the preferred
+ * one. Larger splits fall back to a greedy cover. Warehouse priority comes from
+ * {@code stock-allocation.warehouse-priority}; unlisted warehouses rank after listed ones, by name.
+ */
+@Component
+@ConditionalOnProperty(name = "stock-allocation.strategy", havingValue = "min-splits", matchIfMissing = true)
+@Slf4j
+public class MinimalSplitStockAllocator implements StockAllocator {
+
+    private final Map<String, Integer> warehouseRank = new HashMap<>();
+    private final int maxExhaustiveSplit;
+
+    public MinimalSplitStockAllocator(@Value("${stock-allocation.warehouse-priority:}") List<String> warehousePriority,
+                                      @Value("${stock-allocation.max-exhaustive-split:3}") int maxExhaustiveSplit) {
+        for (String warehouse : warehousePriority) {
+            if (!warehouse.isBlank()) {
+                warehouseRank.putIfAbsent(warehouse.trim(), warehouseRank.size());
+            }
+        }
+        this.maxExhaustiveSplit = maxExhaustiveSplit;
+    }
+
+    @Override
+    public Map<InventoryItem, Integer> allocate(List<Line> lines, ToIntFunction<InventoryItem> capacity,
+                                                boolean requireFull) {
+        List<String> warehouses = warehousesByPriority(lines);
+        Map<String, Integer> warehouseIndex = new HashMap<>();
+        for (int w = 0; w < warehouses.size(); w++) {
+            warehouseIndex.put(warehouses.get(w), w);
+        }
+
+        int lineCount = lines.size();
+        int warehouseCount = warehouses.size();
+        int[][] available = new int[lineCount][warehouseCount];
+        List<List<List<InventoryItem>>> rows = new ArrayList<>(lineCount);
+        int[] needed = new int[lineCount];
+
+        for (int l = 0; l < lineCount; l++) {
+            Line line = lines.get(l);
+            needed[l] = line.getQuantity();
+            List<List<InventoryItem>> rowsByWarehouse = new ArrayList<>(warehouseCount);
+            for (int w = 0; w < warehouseCount; w++) {
+                rowsByWarehouse.add(new ArrayList<>(2));
+            }
+            for (InventoryItem candidate : line.getCandidates()) {
+                int w = warehouseIndex.get(candidate.getWarehouse());
+                rowsByWarehouse.get(w).add(candidate);
+                available[l][w] += Math.max(0, capacity.applyAsInt(candidate));
+            }
+            rows.add(rowsByWarehouse);
+        }
+
+        int[] chosen = chooseWarehouses(available, needed, warehouseCount);
+        boolean[] isChosen = new boolean[warehouseCount];
+        for (int w : chosen) {
+            isChosen[w] = true;
+        }
+
+        Map<InventoryItem, Integer> plan = new LinkedHashMap<>();
+        for (int l = 0; l < lineCount; l++) {
+            int remaining = needed[l];
+            for (int w : chosen) {
+                remaining = take(rows.get(l).get(w), remaining, capacity, plan);
+            }
+            // The matrix counts a row shared by two lines twice; top up from the other warehouses.
+            for (int w = 0; w < warehouseCount && remaining > 0; w++) {
+                if (!isChosen[w]) {
+                    remaining = take(rows.get(l).get(w), remaining, capacity, plan);
+                }
+            }
+            if (remaining > 0 && requireFull) {
+                Line line = lines.get(l);
+                log.warn("Insufficient stock for item: {} (Required: {}, Short: {})",
+                        line.getDescription(), line.getQuantity(), remaining);
+                return null;
+            }
+        }
+        return plan;
+    }
+
+    private List<String> warehousesByPriority(List<Line> lines) {
+        Set<String> distinct = new HashSet<>();
+        for (Line line : lines) {
+            for (InventoryItem candidate : line.getCandidates()) {
+                distinct.add(candidate.getWarehouse());
+            }
+        }
+        List<String> warehouses = new ArrayList<>(distinct);
+        warehouses.sort(Comparator
+                .comparingInt((String warehouse) -> warehouseRank.getOrDefault(warehouse, Integer.MAX_VALUE))
+                .thenComparing(Comparator.nullsLast(Comparator.naturalOrder())));
+        return warehouses;
+    }
+
+    /**
+     * Indices of the warehouses to ship from, in priority order.
+     */
+    private int[] chooseWarehouses(int[][] available, int[] needed, int warehouseCount) {
+        for (int size = 1; size <= Math.min(warehouseCount, maxExhaustiveSplit); size++) {
+            int[] combination = new int[size];
+            for (int i = 0; i < size; i++) {
+                combination[i] = i;
+            }
+            do {
+                if (covers(available, needed, combination)) {
+                    return combination;
+                }
+            } while (nextCombination(combination, warehouseCount));
+        }
+        return greedyCover(available, needed, warehouseCount);
+    }
+
+    private boolean covers(int[][] available, int[] needed, int[] combination) {
+        for (int l = 0; l < needed.length; l++) {
+            int total = 0;
+            for (int w : combination) {
+                total += available[l][w];
+            }
+            if (total < needed[l]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Advance to the next k-combination of [0, n) in lexicographic order; false when exhausted.
+     */
+    private boolean nextCombination(int[] combination, int n) {
+        int k = combination.length;
+        int i = k - 1;
+        while (i >= 0 && combination[i] == n - k + i) {
+            i--;
+        }
+        if (i < 0) {
+            return false;
+        }
+        combination[i]++;
+        for (int j = i + 1; j < k; j++) {
+            combination[j] = combination[j - 1] + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Repeatedly add the warehouse that covers the most outstanding quantity, ties going to priority.
+     * Stops when everything is covered or no warehouse adds anything.
+     */
+    private int[] greedyCover(int[][] available, int[] needed, int warehouseCount) {
+        int[] outstanding = needed.clone();
+        boolean[] chosen = new boolean[warehouseCount];
+        int chosenCount = 0;
+
+        while (true) {
+            int best = -1;
+            long bestGain = 0;
+            for (int w = 0; w < warehouseCount; w++) {
+                if (chosen[w]) continue;
+                long gain = 0;
+                for (int l = 0; l < outstanding.length; l++) {
+                    gain += Math.min(outstanding[l], available[l][w]);
+                }
+                if (gain > bestGain) {
+                    best = w;
+                    bestGain = gain;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            chosen[best] = true;
+            chosenCount++;
+            for (int l = 0; l < outstanding.length; l++) {
+                outstanding[l] -= Math.min(outstanding[l], available[l][best]);
+            }
+        }
+
+        int[] result = new int[chosenCount];
+        for (int w = 0, i = 0; w < warehouseCount; w++) {
+            if (chosen[w]) {
+                result[i++] = w;
+            }
+        }
+        return result;
+    }
+
+    private int take(List<InventoryItem> rows, int remaining, ToIntFunction<InventoryItem> capacity,
+                     Map<InventoryItem, Integer> plan) {
+        for (InventoryItem inventoryItem : rows) {
+            if (remaining <= 0) break;
+
+            int free = capacity.applyAsInt(inventoryItem) - plan.getOrDefault(inventoryItem, 0);
+            int take = Math.min(remaining, free);
+            if (take > 0) {
+                plan.merge(inventoryItem, take, Integer::sum);
+                remaining -= take;
+            }
+        }
+        return remaining;
+    }
+}
@@ -0,0 +1,31 @@
+package com.inventorypro.service;
+
+import com.inventorypro.dto.request.OrderRequest;
+import com.inventorypro.model.Order;
+
+import java.util.Optional;
+
+/**
+ * Admission-controlled entry point for order creation.
+ * Orders run on a bounded worker pool; when the queue is full, submissions are rejected
+ * with {@link com.inventorypro.exception.OrderIntakeRejectedException}.
+ */
+public interface OrderIntakeService {
+
+    OrderIntakeTicket submit(OrderRequest orderRequest);
+
+    /**
+     * Submit with an Idempotency-Key. A key already seen on this node returns the original
+     * ticket (in flight or finished) without executing again; a key first used on another node
+     * resolves to the order that node created.
+     */
+    OrderIntakeTicket submit(OrderRequest orderRequest, String idempotencyKey);
+
+    /**
+     * Wait up to the configured sync timeout for the ticket to finish.
+     * Returns empty if the order is still queued or processing when the timeout elapses.
+     */
+    Optional<Order> awaitOrder(OrderIntakeTicket ticket);
+
+    Optional<OrderIntakeTicket> findTicket(String reference);
+}
@@ -0,0 +1,105 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.Order;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle for an order admitted to the intake queue.
+ * Clients poll it by reference, or wait on the result future for the created order.
+ */
+public class OrderIntakeTicket {
+
+    public enum Status {
+        QUEUED, PROCESSING, COMPLETED, FAILED
+    }
+
+    private final String reference = UUID.randomUUID().toString();
+    private final String idempotencyKey;
+    private final String requestHash;
+    private final LocalDateTime queuedAt = LocalDateTime.now();
+    private final long queuedAtNanos = System.nanoTime();
+    private final CompletableFuture<Order> result = new CompletableFuture<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile Long orderId;
+    private volatile String orderNumber;
+    private volatile String error;
+    private volatile LocalDateTime completedAt;
+
+    public OrderIntakeTicket(String idempotencyKey, String requestHash) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+    }
+
+    public void markProcessing() {
+        this.status = Status.PROCESSING;
+    }
+
+    public void markCompleted(Order order) {
+        this.orderId = order.getId();
+        this.orderNumber = order.getOrderNumber();
+        this.completedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+        result.complete(order);
+    }
+
+    public void markFailed(Throwable cause) {
+        this.error = cause.getMessage();
+        this.completedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+        result.completeExceptionally(cause);
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    /**
+     * Hash of the request the idempotency key was first sent with; null without a key.
+     */
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public LocalDateTime getQueuedAt() {
+        return queuedAt;
+    }
+
+    public long getQueuedAtNanos() {
+        return queuedAtNanos;
+    }
+
+    public CompletableFuture<Order> getResult() {
+        return result;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public boolean isDone() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
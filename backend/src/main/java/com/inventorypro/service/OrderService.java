@@ -14,6 +14,20 @@ public interface OrderService {
     
     Order createOrder(OrderRequest orderRequest);
     
+    /**
+     * Create an order guarded by a client-supplied idempotency key.
+     * Throws {@link org.springframework.dao.DataIntegrityViolationException} if the key was already used.
+     */
+    Order createOrder(OrderRequest orderRequest, String idempotencyKey);
+    
+    /**
+     * The order created under the key, provided it was claimed by the same customer with the same request.
+     * Throws {@link com.inventorypro.exception.IdempotencyKeyMismatchException} otherwise.
+     */
+    Optional<Order> findByIdempotencyKey(String idempotencyKey, OrderRequest orderRequest);
+    
+    int purgeIdempotencyKeys(LocalDateTime cutoff);
+    
     Optional<Order> findById(Long id);
     
     Optional<Order> findByOrderNumber(String orderNumber);
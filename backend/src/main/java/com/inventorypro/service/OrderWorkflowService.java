@@ -1,10 +1,15 @@
 package com.inventorypro.service;
 
 import com.inventorypro.dto.request.OrderReturnRequest;
+import com.inventorypro.dto.request.BulkShipmentRequest;
 import com.inventorypro.dto.request.OrderShipmentRequest;
+import com.inventorypro.dto.response.BulkOrderActionResponse;
 import com.inventorypro.model.Order;
 import com.inventorypro.model.OrderReturn;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface OrderWorkflowService {
     
     Order confirmOrder(Long orderId);
@@ -18,4 +23,21 @@ public interface OrderWorkflowService {
     Order cancelOrder(Long orderId, String reason);
     
     boolean checkStockAvailability(Long orderId);
+    
+    /**
+     * Wave operations: orders, their items and the candidate inventory rows are loaded in a
+     * few set-based queries, allocation is planned in memory and movements are written in one batch.
+     * Each order succeeds or fails on its own; the response reports the outcome per order.
+     */
+    BulkOrderActionResponse confirmOrders(List<Long> orderIds);
+    
+    BulkOrderActionResponse shipOrders(List<BulkShipmentRequest.Shipment> shipments);
+    
+    BulkOrderActionResponse cancelOrders(List<Long> orderIds, String reason);
+    
+    /**
+     * Release the reservations of confirmed orders whose deadline has passed and cancel them.
+     * Returns the number of orders actually expired.
+     */
+    int expireReservations(Collection<Long> orderIds);
 }
\ No newline at end of file
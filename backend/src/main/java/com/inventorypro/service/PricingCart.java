@@ -0,0 +1,90 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.Customer;
+import com.inventorypro.model.Order;
+import com.inventorypro.model.OrderItem;
+import com.inventorypro.util.Money;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Detached, read-only view of a cart for promotion evaluation.
+ * Everything a compiled promotion may look at is copied in up front, so evaluation never
+ * touches an entity or the database. Amounts are {@link Money}, converted once here.
+ */
+@Getter
+public class PricingCart {
+
+    private final Money total;
+    private final int itemCount;
+    private final Customer.CustomerType customerType;
+    private final String currency;
+    private final Money shippingFee;
+    private final List<Line> lines;
+
+    public PricingCart(Customer.CustomerType customerType, String currency, Money shippingFee, List<Line> lines) {
+        long sum = 0;
+        int count = 0;
+        for (Line line : lines) {
+            sum = Math.addExact(sum, line.getTotal().getMinorUnits());
+            count += line.getQuantity();
+        }
+        this.total = Money.ofMinor(sum, currency);
+        this.itemCount = count;
+        this.customerType = customerType;
+        this.currency = currency;
+        this.shippingFee = shippingFee != null ? shippingFee : Money.zero(currency);
+        this.lines = Collections.unmodifiableList(new ArrayList<>(lines));
+    }
+
+    /**
+     * Amount read from an entity, row or request, in the cart's currency.
+     */
+    public static Money money(BigDecimal amount, String currency) {
+        return amount != null ? Money.of(amount, currency, RoundingMode.HALF_UP) : null;
+    }
+
+    public static PricingCart of(Order order) {
+        String currency = order.getCurrency();
+        List<Line> lines = new ArrayList<>(order.getItems().size());
+        for (OrderItem item : order.getItems()) {
+            lines.add(new Line(
+                    item.getProduct() != null ? item.getProduct().getId() : null,
+                    item.getVariant() != null ? item.getVariant().getId() : null,
+                    item.getProduct() != null && item.getProduct().getCategory() != null
+                            ? item.getProduct().getCategory().getId() : null,
+                    item.getQuantity(),
+                    money(item.getPrice(), currency),
+                    money(item.getTotal(), currency)));
+        }
+        return new PricingCart(
+                order.getCustomer() != null ? order.getCustomer().getCustomerType() : null,
+                currency,
+                money(order.getShippingFee(), currency),
+                lines);
+    }
+
+    @Getter
+    public static class Line {
+        private final Long productId;
+        private final Long variantId;
+        private final Long categoryId;
+        private final int quantity;
+        private final Money unitPrice;
+        private final Money total;
+
+        public Line(Long productId, Long variantId, Long categoryId, int quantity, Money unitPrice, Money total) {
+            this.productId = productId;
+            this.variantId = variantId;
+            this.categoryId = categoryId;
+            this.quantity = quantity;
+            this.unitPrice = unitPrice;
+            this.total = total != null ? total : unitPrice.times(quantity);
+        }
+    }
+}
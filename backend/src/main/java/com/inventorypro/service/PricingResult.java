@@ -0,0 +1,47 @@
+package com.inventorypro.service;
+
+import com.inventorypro.util.Money;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Promotions applied to a cart and the resulting discount per line and on shipping.
+ * optimal is false when stacking fell back to the best combination found within its time budget.
+ */
+@Getter
+public class PricingResult {
+
+    private final PricingCart cart;
+    private final List<PromotionApplication> applications;
+    private final Money shippingDiscount;
+    private final Money totalDiscount;
+    private final boolean optimal;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final long[] lineDiscounts;
+
+    public PricingResult(PricingCart cart, List<PromotionApplication> applications, boolean optimal) {
+        this.cart = cart;
+        this.optimal = optimal;
+        this.applications = Collections.unmodifiableList(new ArrayList<>(applications));
+        this.lineDiscounts = new long[cart.getLines().size()];
+        long shipping = 0;
+        long total = 0;
+        for (PromotionApplication application : applications) {
+            for (int i = 0; i < lineDiscounts.length; i++) {
+                lineDiscounts[i] += application.getLineDiscountMinor(i);
+            }
+            shipping += application.getShippingDiscountMinor();
+            total += application.getTotalDiscountMinor();
+        }
+        this.shippingDiscount = Money.ofMinor(shipping, cart.getCurrency());
+        this.totalDiscount = Money.ofMinor(total, cart.getCurrency());
+    }
+
+    public Money getLineDiscount(int line) {
+        return Money.ofMinor(lineDiscounts[line], cart.getCurrency());
+    }
+}
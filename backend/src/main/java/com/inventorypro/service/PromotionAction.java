@@ -0,0 +1,160 @@
+package com.inventorypro.service;
+
+import com.inventorypro.util.Money;
+import com.inventorypro.util.Rate;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled "action" rule of a promotion: what it takes off a cart it applies to, allocated
+ * to the lines (and shipping) in the given {@link PromotionApplication}.
+ * Order-level discounts are spread over all lines by value; item-level ones go to the lines
+ * they are about, found through the {@link CartTally}. Fractions of a minor unit are rounded
+ * half up per line.
+ */
+public sealed interface PromotionAction {
+
+    void allocate(PricingCart cart, CartTally tally, PromotionApplication application);
+
+    /**
+     * Products and categories an item-level action is about.
+     */
+    record ItemScope(Set<Long> productIds, Set<Long> categoryIds) {
+    }
+
+    /**
+     * rate is the fraction of the cart total, e.g. 10/100 for "discount_percentage": 10.
+     */
+    record PercentageOff(Rate rate) implements PromotionAction {
+        @Override
+        public void allocate(PricingCart cart, CartTally tally, PromotionApplication application) {
+            List<PricingCart.Line> lines = cart.getLines();
+            for (int i = 0; i < lines.size(); i++) {
+                application.addLineDiscount(i, lines.get(i).getTotal().times(rate, RoundingMode.HALF_UP));
+            }
+            application.explain(rate.toPercentString() + "% off the order");
+        }
+    }
+
+    /**
+     * amount is in minor units of whatever currency the cart is in.
+     */
+    record FixedAmountOff(long amount) implements PromotionAction {
+        @Override
+        public void allocate(PricingCart cart, CartTally tally, PromotionApplication application) {
+            List<Integer> lines = new ArrayList<>(cart.getLines().size());
+            long[] weights = new long[cart.getLines().size()];
+            for (int i = 0; i < weights.length; i++) {
+                lines.add(i);
+                weights[i] = cart.getLines().get(i).getTotal().getMinorUnits();
+            }
+            Money discount = Money.ofMinor(amount, cart.getCurrency());
+            application.allocateProRata(discount, lines, weights);
+            application.explain(discount.toPlainString() + " off the order, spread over the lines by value");
+        }
+    }
+
+    /**
+     * For every buy + get units in scope, get units are discounted by rate (1 = free).
+     * The cheapest units in scope are the discounted ones.
+     */
+    record BuyXGetY(ItemScope scope, int buy, int get, Rate rate) implements PromotionAction {
+        @Override
+        public void allocate(PricingCart cart, CartTally tally, PromotionApplication application) {
+            List<Integer> lines = tally.lines(scope);
+            int quantity = 0;
+            for (Integer line : lines) {
+                quantity += cart.getLines().get(line).getQuantity();
+            }
+            int discounted = quantity / (buy + get) * get;
+            if (discounted == 0) {
+                return;
+            }
+
+            lines.sort(Comparator.comparingLong((Integer line) -> cart.getLines().get(line).getUnitPrice().getMinorUnits()));
+            int remaining = discounted;
+            for (Integer line : lines) {
+                PricingCart.Line cartLine = cart.getLines().get(line);
+                int units = Math.min(remaining, cartLine.getQuantity());
+                application.addLineDiscount(line, cartLine.getUnitPrice().times(units).times(rate, RoundingMode.HALF_UP));
+                remaining -= units;
+                if (remaining == 0) {
+                    break;
+                }
+            }
+            application.explain("Buy " + buy + " get " + get + ": " + discounted + " of " + quantity
+                    + " qualifying units discounted " + rate.toPercentString() + "%, cheapest first");
+        }
+    }
+
+    /**
+     * Every complete set of the component products (product id to units per bundle) earns
+     * either rate off the bundled units or a fixed amount (in minor units) per bundle.
+     */
+    record BundleDiscount(Map<Long, Integer> components, Rate rate, Long amountPerBundle) implements PromotionAction {
+        @Override
+        public void allocate(PricingCart cart, CartTally tally, PromotionApplication application) {
+            int bundles = Integer.MAX_VALUE;
+            for (Map.Entry<Long, Integer> component : components.entrySet()) {
+                bundles = Math.min(bundles, tally.productQuantity(component.getKey()) / component.getValue());
+            }
+            if (bundles == 0 || bundles == Integer.MAX_VALUE) {
+                return;
+            }
+
+            List<Integer> lines = new ArrayList<>();
+            List<Money> bundledValue = new ArrayList<>();
+            for (Map.Entry<Long, Integer> component : components.entrySet()) {
+                int remaining = bundles * component.getValue();
+                for (Integer line : tally.productLines(component.getKey())) {
+                    PricingCart.Line cartLine = cart.getLines().get(line);
+                    int units = Math.min(remaining, cartLine.getQuantity());
+                    lines.add(line);
+                    bundledValue.add(cartLine.getUnitPrice().times(units));
+                    remaining -= units;
+                    if (remaining == 0) {
+                        break;
+                    }
+                }
+            }
+
+            if (rate != null) {
+                for (int i = 0; i < lines.size(); i++) {
+                    application.addLineDiscount(lines.get(i), bundledValue.get(i).times(rate, RoundingMode.HALF_UP));
+                }
+                application.explain(bundles + " bundle(s) of " + components.size() + " products, "
+                        + rate.toPercentString() + "% off the bundled units");
+            } else {
+                long[] weights = new long[bundledValue.size()];
+                for (int i = 0; i < weights.length; i++) {
+                    weights[i] = bundledValue.get(i).getMinorUnits();
+                }
+                Money perBundle = Money.ofMinor(amountPerBundle, cart.getCurrency());
+                application.allocateProRata(perBundle.times(bundles), lines, weights);
+                application.explain(bundles + " bundle(s) of " + components.size() + " products, "
+                        + perBundle.toPlainString() + " off each");
+            }
+        }
+    }
+
+    record FreeShipping() implements PromotionAction {
+        @Override
+        public void allocate(PricingCart cart, CartTally tally, PromotionApplication application) {
+            if (cart.getShippingFee().signum() > 0) {
+                application.addShippingDiscount(cart.getShippingFee());
+                application.explain("Free shipping");
+            }
+        }
+    }
+
+    record None() implements PromotionAction {
+        @Override
+        public void allocate(PricingCart cart, CartTally tally, PromotionApplication application) {
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.inventorypro.service;
+
+import com.inventorypro.util.Money;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What one promotion takes off one cart, allocated to the cart lines and shipping,
+ * with a human-readable explanation of how it was computed.
+ * Discounts are kept in minor units of the cart's currency.
+ */
+public class PromotionApplication {
+
+    private final CompiledPromotion promotion;
+    private final String currency;
+    private final long[] lineDiscounts;
+    private long shippingDiscount;
+    private long totalDiscount;
+    private final List<String> explanation = new ArrayList<>(2);
+
+    public PromotionApplication(CompiledPromotion promotion, PricingCart cart) {
+        this(promotion, cart.getCurrency(), cart.getLines().size());
+    }
+
+    private PromotionApplication(CompiledPromotion promotion, String currency, int lineCount) {
+        this.promotion = promotion;
+        this.currency = currency;
+        this.lineDiscounts = new long[lineCount];
+    }
+
+    public void addLineDiscount(int line, Money amount) {
+        addLineDiscount(line, amount.getMinorUnits());
+    }
+
+    public void addShippingDiscount(Money amount) {
+        shippingDiscount = Math.addExact(shippingDiscount, amount.getMinorUnits());
+        totalDiscount = Math.addExact(totalDiscount, amount.getMinorUnits());
+    }
+
+    private void addLineDiscount(int line, long minorUnits) {
+        lineDiscounts[line] = Math.addExact(lineDiscounts[line], minorUnits);
+        totalDiscount = Math.addExact(totalDiscount, minorUnits);
+    }
+
+    /**
+     * Spread an amount over the given lines in proportion to their weights, rounding each part
+     * half up to the minor unit; the rounding remainder goes to the heaviest line so the parts
+     * add up exactly.
+     */
+    public void allocateProRata(Money amount, List<Integer> lines, long[] weights) {
+        long totalWeight = 0;
+        for (long weight : weights) {
+            totalWeight = Math.addExact(totalWeight, weight);
+        }
+        if (lines.isEmpty() || totalWeight == 0 || amount.isZero()) {
+            return;
+        }
+        long allocated = 0;
+        int heaviest = 0;
+        long[] parts = new long[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            parts[i] = Money.multiplyDivide(amount.getMinorUnits(), weights[i], totalWeight, RoundingMode.HALF_UP);
+            allocated += parts[i];
+            if (weights[i] > weights[heaviest]) {
+                heaviest = i;
+            }
+        }
+        parts[heaviest] += amount.getMinorUnits() - allocated;
+        for (int i = 0; i < lines.size(); i++) {
+            addLineDiscount(lines.get(i), parts[i]);
+        }
+    }
+
+    /**
+     * Copy of this application limited to what is left of each line and of shipping after
+     * promotions applied before it, in minor units; the remaining capacities are reduced by what it takes.
+     */
+    public PromotionApplication capped(long[] remainingLines, long[] remainingShipping) {
+        PromotionApplication capped = new PromotionApplication(promotion, currency, lineDiscounts.length);
+        for (int i = 0; i < lineDiscounts.length; i++) {
+            if (lineDiscounts[i] != 0) {
+                long take = Math.max(0, Math.min(lineDiscounts[i], remainingLines[i]));
+                capped.addLineDiscount(i, take);
+                remainingLines[i] -= take;
+            }
+        }
+        if (shippingDiscount > 0) {
+            long take = Math.max(0, Math.min(shippingDiscount, remainingShipping[0]));
+            capped.shippingDiscount = take;
+            capped.totalDiscount += take;
+            remainingShipping[0] -= take;
+        }
+        capped.explanation.addAll(explanation);
+        if (capped.totalDiscount < totalDiscount) {
+            capped.explain("Limited to " + capped.getTotalDiscount().toPlainString()
+                    + " by the value left after higher-priority promotions");
+        }
+        return capped;
+    }
+
+    public void explain(String text) {
+        explanation.add(text);
+    }
+
+    public CompiledPromotion getPromotion() {
+        return promotion;
+    }
+
+    public Money getLineDiscount(int line) {
+        return Money.ofMinor(lineDiscounts[line], currency);
+    }
+
+    public long getLineDiscountMinor(int line) {
+        return lineDiscounts[line];
+    }
+
+    public Money getShippingDiscount() {
+        return Money.ofMinor(shippingDiscount, currency);
+    }
+
+    public long getShippingDiscountMinor() {
+        return shippingDiscount;
+    }
+
+    public Money getTotalDiscount() {
+        return Money.ofMinor(totalDiscount, currency);
+    }
+
+    public long getTotalDiscountMinor() {
+        return totalDiscount;
+    }
+
+    public List<String> getExplanation() {
+        return Collections.unmodifiableList(explanation);
+    }
+
+    public boolean isEmpty() {
+        return totalDiscount == 0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.inventorypro.service;
+
+import com.inventorypro.dto.request.PromotionBacktestRequest;
+import com.inventorypro.dto.response.PromotionBacktestResponse;
+
+/**
+ * Replays historical orders against a draft promotion without saving it or touching live pricing.
+ */
+public interface PromotionBacktestService {
+
+    PromotionBacktestResponse backtest(PromotionBacktestRequest request);
+}
@@ -0,0 +1,143 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.Promotion;
+import com.inventorypro.repository.CategoryRepository;
+import com.inventorypro.repository.PromotionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory set of compiled promotions.
+ * Every promotion that is enabled and not yet over is compiled once per reload; the subset
+ * active right now, and its {@link PromotionIndex}, are kept alongside and rebuilt in memory
+ * only when a start or end date is crossed. Reloads happen after promotion writes on this node and on a fixed interval to
+ * pick up writes from other nodes.
+ */
+@Component
+@Slf4j
+public class PromotionCatalog {
+
+    private final PromotionRepository promotionRepository;
+    private final CategoryRepository categoryRepository;
+    private final AtomicReference<Snapshot> snapshot =
+            new AtomicReference<>(new Snapshot(List.of(), LocalDateTime.MIN));
+
+    public PromotionCatalog(PromotionRepository promotionRepository, CategoryRepository categoryRepository) {
+        this.promotionRepository = promotionRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * Promotions active at now; no database access. A rotation that loses the race against a
+     * reload is simply dropped, the reloaded snapshot wins.
+     */
+    public List<CompiledPromotion> activePromotions(LocalDateTime now) {
+        return snapshotAt(now).active;
+    }
+
+    /**
+     * Active promotions that may apply to the cart, found through the applicability index.
+     */
+    public List<CompiledPromotion> candidates(PricingCart cart, LocalDateTime now) {
+        return snapshotAt(now).index.candidates(cart);
+    }
+
+    private Snapshot snapshotAt(LocalDateTime now) {
+        Snapshot current = snapshot.get();
+        if (!current.isValidAt(now)) {
+            Snapshot rotated = current.rotate(now);
+            if (now.isAfter(current.validFrom)) {
+                snapshot.compareAndSet(current, rotated);
+            }
+            return rotated;
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPromotionsChanged(PromotionsChangedEvent event) {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${promotion-catalog.refresh-interval-ms:60000}",
+               initialDelayString = "${promotion-catalog.refresh-interval-ms:60000}")
+    public synchronized void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        PromotionCompiler.Categories categories = PromotionCompiler.Categories.of(categoryRepository.findCategoryTree());
+        List<CompiledPromotion> compiled = new ArrayList<>();
+        for (Promotion promotion : promotionRepository.findLiveWithRules(now)) {
+            try {
+                compiled.add(PromotionCompiler.compile(promotion, categories));
+            } catch (IllegalArgumentException e) {
+                log.warn("Promotion {} ({}) has invalid rules and is ignored: {}",
+                        promotion.getId(), promotion.getName(), e.getMessage());
+            }
+        }
+        compiled.sort(Comparator.comparing(CompiledPromotion::getId));
+        Snapshot reloaded = new Snapshot(compiled, now).rotate(now);
+        snapshot.set(reloaded);
+        log.debug("Promotion catalog reloaded: {} live, {} active", compiled.size(), reloaded.active.size());
+    }
+
+    private static final class Snapshot {
+        private final List<CompiledPromotion> live;
+        private final List<CompiledPromotion> active;
+        private final PromotionIndex index;
+        private final LocalDateTime validFrom;
+        private final LocalDateTime validUntil;
+
+        private Snapshot(List<CompiledPromotion> live, LocalDateTime now) {
+            this(List.copyOf(live), List.of(), now, now);
+        }
+
+        private Snapshot(List<CompiledPromotion> live, List<CompiledPromotion> active,
+                         LocalDateTime validFrom, LocalDateTime validUntil) {
+            this.live = live;
+            this.active = active;
+            this.index = new PromotionIndex(active);
+            this.validFrom = validFrom;
+            this.validUntil = validUntil;
+        }
+
+        private boolean isValidAt(LocalDateTime now) {
+            return !now.isBefore(validFrom) && now.isBefore(validUntil);
+        }
+
+        /**
+         * Active subset at now, valid until the next start date or the instant after the next end date.
+         */
+        private Snapshot rotate(LocalDateTime now) {
+            List<CompiledPromotion> active = new ArrayList<>();
+            LocalDateTime nextBoundary = LocalDateTime.MAX;
+            for (CompiledPromotion promotion : live) {
+                if (promotion.isActiveAt(now)) {
+                    active.add(promotion);
+                }
+                if (promotion.getStartDate() != null && promotion.getStartDate().isAfter(now)
+                        && promotion.getStartDate().isBefore(nextBoundary)) {
+                    nextBoundary = promotion.getStartDate();
+                }
+                if (promotion.getEndDate() != null && !promotion.getEndDate().isBefore(now)
+                        && promotion.getEndDate().plusNanos(1).isBefore(nextBoundary)) {
+                    nextBoundary = promotion.getEndDate().plusNanos(1);
+                }
+            }
+            return new Snapshot(live, List.copyOf(active), now, nextBoundary);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.Customer;
+import com.inventorypro.model.Promotion;
+import com.inventorypro.model.PromotionRule;
+import com.inventorypro.util.Money;
+import com.inventorypro.util.Rate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * Turns the JSON rules of a promotion into {@link CompiledPromotion} objects.
+ * Malformed rules (bad operator, non-numeric threshold, unknown customer type or category) are rejected
+ * with IllegalArgumentException; unknown conditions and actions compile to no-ops, as the
+ * interpreter treated them.
+ */
+public final class PromotionCompiler {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private PromotionCompiler() {
+    }
+
+    public static CompiledPromotion compile(Promotion promotion, Categories categories) {
+        List<PromotionRule> rules = new ArrayList<>(promotion.getRules());
+        // Highest priority first; the first action rule is the one that applies.
+        rules.sort(Comparator.comparing((PromotionRule rule) -> rule.getPriority() != null ? rule.getPriority() : 0)
+                .reversed()
+                .thenComparing(rule -> rule.getId() != null ? rule.getId() : Long.MAX_VALUE));
+
+        List<PromotionCondition> conditions = new ArrayList<>();
+        PromotionAction action = null;
+        int priority = 0;
+        for (PromotionRule rule : rules) {
+            priority = Math.max(priority, rule.getPriority() != null ? rule.getPriority() : 0);
+            Map<String, Object> data = rule.getRuleData() != null ? rule.getRuleData() : Map.of();
+            if ("condition".equals(rule.getRuleType())) {
+                conditions.add(compileCondition(data, categories));
+            } else if ("action".equals(rule.getRuleType()) && action == null) {
+                action = compileAction(data, categories);
+            }
+        }
+
+        if (action == null) {
+            action = promotion.getType() == Promotion.PromotionType.FREE_SHIPPING
+                    ? new PromotionAction.FreeShipping() : new PromotionAction.None();
+        }
+        return new CompiledPromotion(promotion.getId(), promotion.getName(), promotion.getType(),
+                promotion.getStartDate(), promotion.getEndDate(), promotion.getUsageLimit(), priority,
+                promotion.getExclusivityGroup(), Boolean.TRUE.equals(promotion.getExclusive()),
+                conditions, action);
+    }
+
+    private static PromotionCondition compileCondition(Map<String, Object> data, Categories categories) {
+        String condition = String.valueOf(data.get("condition"));
+        Object value = data.get("value");
+
+        switch (condition) {
+            case "cart_total":
+                RuleOperator totalOperator = numericOperator(data);
+                return new PromotionCondition.CartTotal(totalOperator,
+                        threshold(decimal(value, condition), Money.SCALE, totalOperator, condition));
+            case "item_count":
+                RuleOperator countOperator = numericOperator(data);
+                return new PromotionCondition.ItemCount(countOperator,
+                        threshold(decimal(value, condition), 0, countOperator, condition));
+            case "customer_type":
+                return new PromotionCondition.CustomerTypeIs(customerTypes(value), membershipOperator(data) == RuleOperator.NE);
+            case "product_id":
+                return new PromotionCondition.ContainsProduct(productIds(value), membershipOperator(data) == RuleOperator.NE);
+            case "product_category":
+                RuleOperator categoryOperator = membershipOperator(data);
+                Set<Long> categoryIds = new HashSet<>();
+                for (Object key : values(value)) {
+                    categoryIds.addAll(categories.resolve(key));
+                }
+                return new PromotionCondition.ContainsCategory(Set.copyOf(categoryIds), categoryOperator == RuleOperator.NE);
+            default:
+                return new PromotionCondition.Never(condition);
+        }
+    }
+
+    /**
+     * Item-level actions:
+     * {"action": "buy_x_get_y", "buy": 2, "get": 1, "product_ids": [..] or "categories": [..], "discount_percentage": 100}
+     * {"action": "bundle_discount", "products": {"12": 1, "15": 2}, "discount_percentage": 15 or "discount_fixed": 5}
+     * {"action": "free_shipping"}
+     */
+    private static PromotionAction compileAction(Map<String, Object> data, Categories categories) {
+        String action = String.valueOf(data.get("action"));
+        Object value = data.get("value");
+
+        switch (action) {
+            case "discount_percentage":
+                return new PromotionAction.PercentageOff(rate(decimal(value, action)));
+            case "discount_fixed":
+                return new PromotionAction.FixedAmountOff(amount(decimal(value, action), action));
+            case "buy_x_get_y":
+                int buy = positiveInt(data.get("buy"), "buy");
+                int get = positiveInt(data.get("get"), "get");
+                Rate rate = data.containsKey("discount_percentage")
+                        ? rate(decimal(data.get("discount_percentage"), action)) : Rate.ONE;
+                return new PromotionAction.BuyXGetY(itemScope(data, categories), buy, get, rate);
+            case "bundle_discount":
+                return compileBundle(data);
+            case "free_shipping":
+                return new PromotionAction.FreeShipping();
+            default:
+                return new PromotionAction.None();
+        }
+    }
+
+    private static PromotionAction compileBundle(Map<String, Object> data) {
+        if (!(data.get("products") instanceof Map<?, ?> products) || products.isEmpty()) {
+            throw new IllegalArgumentException("bundle_discount needs products: {productId: units}");
+        }
+        Map<Long, Integer> components = new HashMap<>();
+        for (Map.Entry<?, ?> component : products.entrySet()) {
+            components.put(productIds(component.getKey()).iterator().next(),
+                    positiveInt(component.getValue(), "bundle units"));
+        }
+        if (data.containsKey("discount_percentage")) {
+            return new PromotionAction.BundleDiscount(Map.copyOf(components),
+                    rate(decimal(data.get("discount_percentage"), "bundle_discount")), null);
+        }
+        if (data.containsKey("discount_fixed")) {
+            return new PromotionAction.BundleDiscount(Map.copyOf(components), null,
+                    amount(decimal(data.get("discount_fixed"), "bundle_discount"), "bundle_discount"));
+        }
+        throw new IllegalArgumentException("bundle_discount needs discount_percentage or discount_fixed");
+    }
+
+    private static PromotionAction.ItemScope itemScope(Map<String, Object> data, Categories categories) {
+        Set<Long> productIds = data.get("product_ids") != null ? productIds(data.get("product_ids")) : Set.of();
+        Set<Long> categoryIds = new HashSet<>();
+        if (data.get("categories") != null) {
+            for (Object key : values(data.get("categories"))) {
+                categoryIds.addAll(categories.resolve(key));
+            }
+        }
+        if (productIds.isEmpty() && categoryIds.isEmpty()) {
+            throw new IllegalArgumentException(data.get("action") + " needs product_ids or categories");
+        }
+        return new PromotionAction.ItemScope(productIds, Set.copyOf(categoryIds));
+    }
+
+    private static Rate rate(BigDecimal percentage) {
+        if (percentage.signum() < 0 || percentage.compareTo(HUNDRED) > 0) {
+            throw new IllegalArgumentException("Percentage must be between 0 and 100: " + percentage);
+        }
+        try {
+            return Rate.ofPercentage(percentage);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Percentage has too many decimal places: " + percentage);
+        }
+    }
+
+    private static long amount(BigDecimal amount, String rule) {
+        if (amount.signum() < 0) {
+            throw new IllegalArgumentException(rule + " amount must not be negative: " + amount);
+        }
+        return Money.toMinor(amount, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Threshold as a whole number after moving the decimal point right by scale (2 for a cart
+     * total in minor units, 0 for an item count), rounded so that comparing whole numbers gives
+     * the same answer as comparing with the exact value: total >= 9.995 is total >= 10.00.
+     */
+    private static long threshold(BigDecimal value, int scale, RuleOperator operator, String condition) {
+        BigDecimal scaled = value.movePointRight(scale);
+        try {
+            switch (operator) {
+                case GT:
+                case LTE:
+                    return scaled.setScale(0, RoundingMode.FLOOR).longValueExact();
+                case GTE:
+                case LT:
+                    return scaled.setScale(0, RoundingMode.CEILING).longValueExact();
+                default:
+                    return scaled.setScale(0, RoundingMode.UNNECESSARY).longValueExact();
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(condition + " " + operator.getSymbol() + " cannot be met by " + value);
+        }
+    }
+
+    private static int positiveInt(Object value, String name) {
+        try {
+            int number = Integer.parseInt(String.valueOf(value));
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(name + " must be a positive whole number: " + value);
+    }
+
+    private static RuleOperator operator(Map<String, Object> data) {
+        Object symbol = data.get("operator");
+        if (symbol == null) {
+            throw new IllegalArgumentException("Condition " + data.get("condition") + " has no operator");
+        }
+        return RuleOperator.fromSymbol(symbol.toString());
+    }
+
+    private static RuleOperator numericOperator(Map<String, Object> data) {
+        RuleOperator operator = operator(data);
+        if (!operator.isNumeric()) {
+            throw new IllegalArgumentException(data.get("condition") + " does not support " + operator.getSymbol());
+        }
+        return operator;
+    }
+
+    private static RuleOperator membershipOperator(Map<String, Object> data) {
+        RuleOperator operator = operator(data);
+        if (operator != RuleOperator.EQ && operator != RuleOperator.NE && operator != RuleOperator.IN) {
+            throw new IllegalArgumentException(data.get("condition") + " does not support " + operator.getSymbol());
+        }
+        return operator;
+    }
+
+    private static Collection<?> values(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Condition has no value");
+        }
+        return value instanceof Collection<?> collection ? collection : List.of(value);
+    }
+
+    private static Set<Long> productIds(Object value) {
+        Set<Long> ids = new HashSet<>();
+        for (Object id : values(value)) {
+            try {
+                ids.add(Long.valueOf(id.toString()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a product id: " + id);
+            }
+        }
+        return Set.copyOf(ids);
+    }
+
+    private static BigDecimal decimal(Object value, String rule) {
+        if (value == null) {
+            throw new IllegalArgumentException(rule + " has no value");
+        }
+        try {
+            return new BigDecimal(value.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(rule + " value is not a number: " + value);
+        }
+    }
+
+    private static Set<Customer.CustomerType> customerTypes(Object value) {
+        EnumSet<Customer.CustomerType> types = EnumSet.noneOf(Customer.CustomerType.class);
+        for (Object type : values(value)) {
+            try {
+                types.add(Customer.CustomerType.valueOf(String.valueOf(type)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown customer type: " + type);
+            }
+        }
+        return Collections.unmodifiableSet(types);
+    }
+
+    /**
+     * Category slugs, names and ids mapped to the category and all its descendants.
+     */
+    public static final class Categories {
+
+        private final Map<String, Set<Long>> byKey;
+
+        private Categories(Map<String, Set<Long>> byKey) {
+            this.byKey = byKey;
+        }
+
+        /**
+         * Rows of id, slug, name, parentId.
+         */
+        public static Categories of(List<Object[]> rows) {
+            Map<Long, List<Long>> children = new HashMap<>();
+            for (Object[] row : rows) {
+                if (row[3] != null) {
+                    children.computeIfAbsent((Long) row[3], parent -> new ArrayList<>()).add((Long) row[0]);
+                }
+            }
+
+            Map<String, Set<Long>> byKey = new HashMap<>();
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                Set<Long> subtree = new HashSet<>();
+                Deque<Long> pending = new ArrayDeque<>(List.of(id));
+                while (!pending.isEmpty()) {
+                    Long next = pending.pop();
+                    if (subtree.add(next)) {
+                        pending.addAll(children.getOrDefault(next, List.of()));
+                    }
+                }
+                Set<Long> ids = Set.copyOf(subtree);
+                byKey.put(id.toString(), ids);
+                if (row[1] != null) {
+                    byKey.put(row[1].toString().toLowerCase(Locale.ROOT), ids);
+                }
+                if (row[2] != null) {
+                    byKey.putIfAbsent(row[2].toString().toLowerCase(Locale.ROOT), ids);
+                }
+            }
+            return new Categories(byKey);
+        }
+
+        Set<Long> resolve(Object key) {
+            Set<Long> ids = byKey.get(key.toString().toLowerCase(Locale.ROOT));
+            if (ids == null) {
+                throw new IllegalArgumentException("Unknown category: " + key);
+            }
+            return ids;
+        }
+    }
+}
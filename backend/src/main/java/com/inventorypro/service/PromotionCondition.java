@@ -0,0 +1,81 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.Customer;
+
+import java.util.Set;
+
+/**
+ * Compiled "condition" rule of a promotion. Thresholds are parsed and operators resolved
+ * when the promotion is compiled; testing a cart is plain field access and comparison.
+ */
+public sealed interface PromotionCondition {
+
+    boolean test(PricingCart cart);
+
+    /**
+     * threshold is in minor units of whatever currency the cart is in.
+     */
+    record CartTotal(RuleOperator operator, long threshold) implements PromotionCondition {
+        @Override
+        public boolean test(PricingCart cart) {
+            return operator.matches(Long.compare(cart.getTotal().getMinorUnits(), threshold));
+        }
+    }
+
+    record ItemCount(RuleOperator operator, long threshold) implements PromotionCondition {
+        @Override
+        public boolean test(PricingCart cart) {
+            return operator.matches(Long.compare(cart.getItemCount(), threshold));
+        }
+    }
+
+    /**
+     * "==" and "in" match the listed types, "!=" matches any other type.
+     */
+    record CustomerTypeIs(Set<Customer.CustomerType> types, boolean negated) implements PromotionCondition {
+        @Override
+        public boolean test(PricingCart cart) {
+            return cart.getCustomerType() != null && types.contains(cart.getCustomerType()) != negated;
+        }
+    }
+
+    /**
+     * "==" and "in" require a line for one of the products, "!=" requires none.
+     */
+    record ContainsProduct(Set<Long> productIds, boolean negated) implements PromotionCondition {
+        @Override
+        public boolean test(PricingCart cart) {
+            for (PricingCart.Line line : cart.getLines()) {
+                if (productIds.contains(line.getProductId())) {
+                    return !negated;
+                }
+            }
+            return negated;
+        }
+    }
+
+    /**
+     * Category ids include the subcategories of the categories named in the rule.
+     */
+    record ContainsCategory(Set<Long> categoryIds, boolean negated) implements PromotionCondition {
+        @Override
+        public boolean test(PricingCart cart) {
+            for (PricingCart.Line line : cart.getLines()) {
+                if (categoryIds.contains(line.getCategoryId())) {
+                    return !negated;
+                }
+            }
+            return negated;
+        }
+    }
+
+    /**
+     * A condition this engine does not understand; like before, it makes the promotion inapplicable.
+     */
+    record Never(String condition) implements PromotionCondition {
+        @Override
+        public boolean test(PricingCart cart) {
+            return false;
+        }
+    }
+}
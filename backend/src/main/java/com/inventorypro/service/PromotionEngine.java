@@ -1,120 +1,105 @@
 package com.inventorypro.service;
 
 import com.inventorypro.model.Order;
-import com.inventorypro.model.Promotion;
-import com.inventorypro.model.PromotionRule;
-import com.inventorypro.repository.PromotionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ADR 04: Centralized Promotion Engine
- * Rule-based system that processes promotions dynamically
+ * Rule-based system that processes promotions dynamically.
+ * Rules are compiled by {@link PromotionCompiler} and held by {@link PromotionCatalog};
+ * pricing a cart reads only that in-memory set. The cart is tallied once per product and
+ * category, and every candidate promotion allocates its discount from that tally.
  */
 @Service
 public class PromotionEngine {
 
     @Autowired
-    private PromotionRepository promotionRepository;
+    private PromotionCatalog promotionCatalog;
+
+    @Autowired
+    private PromotionUsageTracker promotionUsageTracker;
+
+    @Value("${promotion-stacking.time-budget-micros:500}")
+    private long stackingBudgetMicros;
 
     public BigDecimal calculateDiscount(Order order) {
-        List<Promotion> activePromotions = promotionRepository.findActivePromotions(LocalDateTime.now());
-        BigDecimal totalDiscount = BigDecimal.ZERO;
+        return calculateDiscount(PricingCart.of(order));
+    }
 
-        for (Promotion promotion : activePromotions) {
-            if (isPromotionApplicable(promotion, order)) {
-                BigDecimal discount = applyPromotion(promotion, order);
-                totalDiscount = totalDiscount.add(discount);
-            }
-        }
+    public BigDecimal calculateDiscount(PricingCart cart) {
+        return price(cart).getTotalDiscount().toBigDecimal();
+    }
 
-        return totalDiscount;
+    /**
+     * Find the applicable promotions, choose the best legal combination of them
+     * ({@link PromotionStackingSolver}) and return the discount allocated per line and on shipping.
+     */
+    public PricingResult price(PricingCart cart) {
+        return price(cart, Set.of());
     }
 
-    private boolean isPromotionApplicable(Promotion promotion, Order order) {
-        for (PromotionRule rule : promotion.getRules()) {
-            if ("condition".equals(rule.getRuleType())) {
-                if (!evaluateCondition(rule.getRuleData(), order)) {
-                    return false;
+    /**
+     * Price the cart and take one use of every promotion applied. A promotion whose usage limit
+     * was reached in the meantime is dropped and the cart priced again without it.
+     * Call {@link #release(PricingResult)} if the order is not placed after all.
+     */
+    public PricingResult redeem(PricingCart cart) {
+        Set<Long> refused = new HashSet<>();
+        while (true) {
+            PricingResult result = price(cart, refused);
+            List<CompiledPromotion> acquired = new ArrayList<>();
+            CompiledPromotion unavailable = null;
+            for (PromotionApplication application : result.getApplications()) {
+                if (promotionUsageTracker.tryAcquire(application.getPromotion())) {
+                    acquired.add(application.getPromotion());
+                } else {
+                    unavailable = application.getPromotion();
+                    break;
                 }
             }
+            if (unavailable == null) {
+                return result;
+            }
+            acquired.forEach(promotionUsageTracker::release);
+            refused.add(unavailable.getId());
         }
-        return true;
     }
 
-    private boolean evaluateCondition(Map<String, Object> ruleData, Order order) {
-        String condition = (String) ruleData.get("condition");
-        String operator = (String) ruleData.get("operator");
-        Object value = ruleData.get("value");
-
-        switch (condition) {
-            case "cart_total":
-                return evaluateNumericCondition(order.getTotal(), operator, value);
-            case "item_count":
-                int itemCount = order.getItems().stream()
-                    .mapToInt(item -> item.getQuantity())
-                    .sum();
-                return evaluateNumericCondition(BigDecimal.valueOf(itemCount), operator, value);
-            case "customer_type":
-                return evaluateStringCondition(order.getCustomer().getCustomerType().toString(), operator, value);
-            // Add more conditions as needed
-            default:
-                return false;
+    public void release(PricingResult redeemed) {
+        for (PromotionApplication application : redeemed.getApplications()) {
+            promotionUsageTracker.release(application.getPromotion());
         }
     }
 
-    private boolean evaluateNumericCondition(BigDecimal actual, String operator, Object value) {
-        BigDecimal expectedValue = new BigDecimal(value.toString());
-        switch (operator) {
-            case ">=": return actual.compareTo(expectedValue) >= 0;
-            case ">": return actual.compareTo(expectedValue) > 0;
-            case "<=": return actual.compareTo(expectedValue) <= 0;
-            case "<": return actual.compareTo(expectedValue) < 0;
-            case "==": return actual.compareTo(expectedValue) == 0;
-            default: return false;
-        }
-    }
+    private PricingResult price(PricingCart cart, Set<Long> excluded) {
+        List<CompiledPromotion> candidates = promotionCatalog.candidates(cart, LocalDateTime.now());
+        List<PromotionApplication> applications = new ArrayList<>();
+        CartTally tally = candidates.isEmpty() ? null : new CartTally(cart);
 
-    private boolean evaluateStringCondition(String actual, String operator, Object value) {
-        switch (operator) {
-            case "==": return actual.equals(value.toString());
-            case "!=": return !actual.equals(value.toString());
-            case "in": 
-                if (value instanceof List) {
-                    return ((List<?>) value).contains(actual);
+        for (CompiledPromotion promotion : candidates) {
+            if (excluded.contains(promotion.getId()) || promotionUsageTracker.isExhausted(promotion.getId())) {
+                continue;
+            }
+            if (promotion.appliesTo(cart)) {
+                PromotionApplication application = promotion.apply(cart, tally);
+                if (!application.isEmpty()) {
+                    applications.add(application);
                 }
-                return false;
-            default: return false;
-        }
-    }
-
-    private BigDecimal applyPromotion(Promotion promotion, Order order) {
-        for (PromotionRule rule : promotion.getRules()) {
-            if ("action".equals(rule.getRuleType())) {
-                return executeAction(rule.getRuleData(), order);
             }
         }
-        return BigDecimal.ZERO;
-    }
 
-    private BigDecimal executeAction(Map<String, Object> ruleData, Order order) {
-        String action = (String) ruleData.get("action");
-        Object value = ruleData.get("value");
-
-        switch (action) {
-            case "discount_percentage":
-                double percentage = Double.parseDouble(value.toString());
-                return order.getTotal().multiply(BigDecimal.valueOf(percentage / 100));
-            case "discount_fixed":
-                return new BigDecimal(value.toString());
-            // Add more actions as needed
-            default:
-                return BigDecimal.ZERO;
-        }
+        PromotionStackingSolver.Selection selection =
+                PromotionStackingSolver.solve(cart, applications, TimeUnit.MICROSECONDS.toNanos(stackingBudgetMicros));
+        return new PricingResult(cart, selection.applications(), selection.optimal());
     }
-}
\ No newline at end of file
+}
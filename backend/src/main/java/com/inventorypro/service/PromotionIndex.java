@@ -0,0 +1,202 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.Customer;
+
+import java.util.*;
+
+/**
+ * Applicability index over a set of compiled promotions.
+ * Each promotion is filed under its most selective positive condition: products or categories
+ * in an inverted map, customer types in an enum map, cart total bounds in sorted arrays searched
+ * by binary search. Item-level promotions without such a condition are filed under the products
+ * or categories their action is about. Only the rest are tried for every cart.
+ * Candidates still go through the full condition check; the index only skips promotions that
+ * cannot apply.
+ */
+public class PromotionIndex {
+
+    private final List<CompiledPromotion> unconditional;
+    private final Map<Long, List<CompiledPromotion>> byProduct;
+    private final Map<Long, List<CompiledPromotion>> byCategory;
+    private final Map<Customer.CustomerType, List<CompiledPromotion>> byCustomerType;
+    private final Bounds minimumTotals;
+    private final Bounds maximumTotals;
+    private final int size;
+
+    public PromotionIndex(List<CompiledPromotion> promotions) {
+        List<CompiledPromotion> unconditional = new ArrayList<>();
+        Map<Long, List<CompiledPromotion>> byProduct = new HashMap<>();
+        Map<Long, List<CompiledPromotion>> byCategory = new HashMap<>();
+        Map<Customer.CustomerType, List<CompiledPromotion>> byCustomerType = new EnumMap<>(Customer.CustomerType.class);
+        List<Map.Entry<Long, CompiledPromotion>> minimums = new ArrayList<>();
+        List<Map.Entry<Long, CompiledPromotion>> maximums = new ArrayList<>();
+
+        int indexed = 0;
+        for (CompiledPromotion promotion : promotions) {
+            if (promotion.getConditions().stream().anyMatch(PromotionCondition.Never.class::isInstance)) {
+                continue;
+            }
+            indexed++;
+            PromotionCondition key = indexKey(promotion);
+            if (key instanceof PromotionCondition.ContainsProduct products) {
+                products.productIds().forEach(id -> byProduct.computeIfAbsent(id, k -> new ArrayList<>()).add(promotion));
+            } else if (key instanceof PromotionCondition.ContainsCategory categories) {
+                categories.categoryIds().forEach(id -> byCategory.computeIfAbsent(id, k -> new ArrayList<>()).add(promotion));
+            } else if (key instanceof PromotionCondition.CustomerTypeIs customerTypes) {
+                Set<Customer.CustomerType> types = customerTypes.negated()
+                        ? EnumSet.complementOf(EnumSet.copyOf(customerTypes.types()))
+                        : customerTypes.types();
+                types.forEach(type -> byCustomerType.computeIfAbsent(type, k -> new ArrayList<>()).add(promotion));
+            } else if (key instanceof PromotionCondition.CartTotal cartTotal) {
+                RuleOperator operator = cartTotal.operator();
+                if (operator == RuleOperator.LT || operator == RuleOperator.LTE) {
+                    maximums.add(Map.entry(cartTotal.threshold(), promotion));
+                } else {
+                    minimums.add(Map.entry(cartTotal.threshold(), promotion));
+                }
+            } else if (promotion.getAction() instanceof PromotionAction.BuyXGetY buyXGetY) {
+                // Nothing to discount unless the cart has something in the action's scope.
+                buyXGetY.scope().productIds().forEach(id -> byProduct.computeIfAbsent(id, k -> new ArrayList<>()).add(promotion));
+                buyXGetY.scope().categoryIds().forEach(id -> byCategory.computeIfAbsent(id, k -> new ArrayList<>()).add(promotion));
+            } else if (promotion.getAction() instanceof PromotionAction.BundleDiscount bundle) {
+                // Every component is required, so any one of them is a sufficient key.
+                Long component = Collections.min(bundle.components().keySet());
+                byProduct.computeIfAbsent(component, k -> new ArrayList<>()).add(promotion);
+            } else {
+                unconditional.add(promotion);
+            }
+        }
+
+        this.unconditional = List.copyOf(unconditional);
+        this.byProduct = byProduct;
+        this.byCategory = byCategory;
+        this.byCustomerType = byCustomerType;
+        this.minimumTotals = new Bounds(minimums);
+        this.maximumTotals = new Bounds(maximums);
+        this.size = indexed;
+    }
+
+    /**
+     * Promotions that may apply to the cart, each at most once, in id order.
+     */
+    public List<CompiledPromotion> candidates(PricingCart cart) {
+        List<CompiledPromotion> candidates = new ArrayList<>(unconditional);
+        minimumTotals.addAtMost(cart.getTotal().getMinorUnits(), candidates);
+        maximumTotals.addAtLeast(cart.getTotal().getMinorUnits(), candidates);
+        if (cart.getCustomerType() != null) {
+            candidates.addAll(byCustomerType.getOrDefault(cart.getCustomerType(), List.of()));
+        }
+
+        if (!byProduct.isEmpty() || !byCategory.isEmpty()) {
+            // A promotion listing several products or categories can be reached through more than one line.
+            Set<CompiledPromotion> reached = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (PricingCart.Line line : cart.getLines()) {
+                reached.addAll(byProduct.getOrDefault(line.getProductId(), List.of()));
+                reached.addAll(byCategory.getOrDefault(line.getCategoryId(), List.of()));
+            }
+            candidates.addAll(reached);
+        }
+
+        candidates.sort(Comparator.comparing(CompiledPromotion::getId));
+        return candidates;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The condition that narrows the promotion down the most, or null if none can be indexed.
+     */
+    private static PromotionCondition indexKey(CompiledPromotion promotion) {
+        PromotionCondition best = null;
+        int bestRank = Integer.MAX_VALUE;
+        for (PromotionCondition condition : promotion.getConditions()) {
+            int rank = rank(condition);
+            if (rank < bestRank) {
+                best = condition;
+                bestRank = rank;
+            }
+        }
+        return best;
+    }
+
+    private static int rank(PromotionCondition condition) {
+        if (condition instanceof PromotionCondition.ContainsProduct products && !products.negated()) {
+            return 0;
+        }
+        if (condition instanceof PromotionCondition.ContainsCategory categories && !categories.negated()) {
+            return 1;
+        }
+        if (condition instanceof PromotionCondition.CustomerTypeIs customerTypes
+                && (!customerTypes.negated() || !customerTypes.types().isEmpty())) {
+            return 2;
+        }
+        if (condition instanceof PromotionCondition.CartTotal) {
+            return 3;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Promotions sorted by a cart total threshold in minor units.
+     */
+    private static final class Bounds {
+        private final long[] thresholds;
+        private final CompiledPromotion[] promotions;
+
+        private Bounds(List<Map.Entry<Long, CompiledPromotion>> entries) {
+            entries.sort(Map.Entry.comparingByKey());
+            this.thresholds = new long[entries.size()];
+            this.promotions = new CompiledPromotion[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                thresholds[i] = entries.get(i).getKey();
+                promotions[i] = entries.get(i).getValue();
+            }
+        }
+
+        /**
+         * Promotions whose threshold is at most the total: a prefix of the array.
+         */
+        private void addAtMost(long total, List<CompiledPromotion> target) {
+            int end = firstGreaterThan(total);
+            target.addAll(Arrays.asList(promotions).subList(0, end));
+        }
+
+        /**
+         * Promotions whose threshold is at least the total: a suffix of the array.
+         */
+        private void addAtLeast(long total, List<CompiledPromotion> target) {
+            int start = firstAtLeast(total);
+            target.addAll(Arrays.asList(promotions).subList(start, promotions.length));
+        }
+
+        private int firstGreaterThan(long total) {
+            int low = 0;
+            int high = thresholds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (thresholds[mid] <= total) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int firstAtLeast(long total) {
+            int low = 0;
+            int high = thresholds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (thresholds[mid] < total) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
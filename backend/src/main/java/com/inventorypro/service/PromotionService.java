@@ -0,0 +1,28 @@
+package com.inventorypro.service;
+
+import com.inventorypro.dto.request.PromotionRequest;
+import com.inventorypro.model.Promotion;
+
+import java.util.List;
+
+/**
+ * Promotion administration. Rules are compiled on every write, so a promotion the engine
+ * cannot evaluate is rejected up front; committed writes refresh the in-memory catalog.
+ */
+public interface PromotionService {
+
+    List<Promotion> getAllPromotions();
+
+    Promotion getPromotion(Long id);
+
+    Promotion createPromotion(PromotionRequest request);
+
+    Promotion updatePromotion(Long id, PromotionRequest request);
+
+    void deletePromotion(Long id);
+
+    /**
+     * Compile a promotion without saving it, e.g. to backtest it. The result has no id.
+     */
+    CompiledPromotion compileDraft(PromotionRequest request);
+}
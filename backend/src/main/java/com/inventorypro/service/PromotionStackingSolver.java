@@ -0,0 +1,265 @@
+package com.inventorypro.service;
+
+import java.util.*;
+
+/**
+ * Chooses which applicable promotions to combine on a cart.
+ *
+ * Rules: an exclusive promotion stands alone, at most one promotion per exclusivity group,
+ * and no line (or shipping) can be discounted below zero. The value of a combination is
+ * therefore not the plain sum of its discounts, which is why the best one is searched for.
+ *
+ * The search is a depth-first include/exclude over the promotions, largest discount first,
+ * seeded with the greedy answer. A branch is cut when even its uncapped remaining discounts
+ * cannot beat the best found, or when it reaches a state already explored: the same position
+ * with the same remaining line values and used groups leads to the same outcomes. If the time
+ * budget runs out the best combination found so far is used, which is never worse than greedy.
+ *
+ * Ties go to the higher total priority. The chosen promotions are applied in priority order,
+ * so a higher-priority promotion keeps its discount when caps bite. All amounts are minor units.
+ */
+public final class PromotionStackingSolver {
+
+    private static final int DEADLINE_CHECK_INTERVAL = 128;
+
+    private final PricingCart cart;
+    private final List<PromotionApplication> stackable = new ArrayList<>();
+    private final List<PromotionApplication> exclusive = new ArrayList<>();
+    private final long[] suffixDiscount;
+    private final int[] groups;
+    private final long deadline;
+
+    private final Set<State> explored = new HashSet<>();
+    private final boolean[] chosen;
+    private final boolean[] groupUsed;
+    private boolean[] bestChosen;
+    private long bestValue;
+    private int bestPriority = Integer.MIN_VALUE;
+    private long nodes;
+    private boolean timedOut;
+
+    private PromotionStackingSolver(PricingCart cart, List<PromotionApplication> applications, long budgetNanos) {
+        this.cart = cart;
+        this.deadline = System.nanoTime() + budgetNanos;
+        for (PromotionApplication application : applications) {
+            (application.getPromotion().isExclusive() ? exclusive : stackable).add(application);
+        }
+        stackable.sort(Comparator.comparingLong(PromotionApplication::getTotalDiscountMinor).reversed()
+                .thenComparing(application -> -application.getPromotion().getPriority())
+                .thenComparing(application -> application.getPromotion().getId()));
+
+        int n = stackable.size();
+        this.suffixDiscount = new long[n + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            suffixDiscount[i] = suffixDiscount[i + 1] + stackable.get(i).getTotalDiscountMinor();
+        }
+
+        Map<String, Integer> groupIds = new HashMap<>();
+        this.groups = new int[n];
+        for (int i = 0; i < n; i++) {
+            String group = stackable.get(i).getPromotion().getExclusivityGroup();
+            groups[i] = group != null ? groupIds.computeIfAbsent(group, g -> groupIds.size()) : -1;
+        }
+        this.chosen = new boolean[n];
+        this.groupUsed = new boolean[groupIds.size()];
+    }
+
+    /**
+     * Best legal combination of the given applications, capped and ordered by priority.
+     */
+    public static Selection solve(PricingCart cart, List<PromotionApplication> applications, long budgetNanos) {
+        if (applications.isEmpty()) {
+            return new Selection(List.of(), true);
+        }
+        return new PromotionStackingSolver(cart, applications, budgetNanos).solve();
+    }
+
+    private Selection solve() {
+        greedy();
+
+        search(0, lineValues(), cart.getShippingFee().getMinorUnits(), 0, 0);
+
+        List<PromotionApplication> selected = new ArrayList<>();
+        for (int i = 0; i < stackable.size(); i++) {
+            if (bestChosen[i]) {
+                selected.add(stackable.get(i));
+            }
+        }
+
+        // An exclusive promotion wins only if it alone beats the best combination.
+        for (PromotionApplication candidate : exclusive) {
+            long value = cappedValue(List.of(candidate));
+            if (value > bestValue || (value == bestValue && candidate.getPromotion().getPriority() > bestPriority)) {
+                bestValue = value;
+                bestPriority = candidate.getPromotion().getPriority();
+                selected = List.of(candidate);
+            }
+        }
+
+        return new Selection(applyInPriorityOrder(selected), !timedOut);
+    }
+
+    /**
+     * Highest priority first, then largest discount, skipping group conflicts. Seeds the search.
+     */
+    private void greedy() {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < stackable.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing((Integer i) -> -stackable.get(i).getPromotion().getPriority())
+                .thenComparing(i -> -stackable.get(i).getTotalDiscountMinor()));
+
+        boolean[] picked = new boolean[stackable.size()];
+        boolean[] used = new boolean[groupUsed.length];
+        List<PromotionApplication> selected = new ArrayList<>();
+        int priority = 0;
+        for (Integer i : order) {
+            if (groups[i] >= 0 && used[groups[i]]) {
+                continue;
+            }
+            if (groups[i] >= 0) {
+                used[groups[i]] = true;
+            }
+            picked[i] = true;
+            selected.add(stackable.get(i));
+            priority += stackable.get(i).getPromotion().getPriority();
+        }
+        bestChosen = picked;
+        bestValue = cappedValue(selected);
+        bestPriority = priority;
+    }
+
+    private void search(int index, long[] remainingLines, long remainingShipping, long value, int priority) {
+        if (timedOut) {
+            return;
+        }
+        if (++nodes % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+            timedOut = true;
+            return;
+        }
+
+        if (value > bestValue || (value == bestValue && priority > bestPriority)) {
+            bestValue = value;
+            bestPriority = priority;
+            bestChosen = chosen.clone();
+        }
+        if (index == stackable.size() || value + suffixDiscount[index] < bestValue) {
+            return;
+        }
+        if (!explored.add(new State(index, priority, remainingLines, remainingShipping, groupUsed))) {
+            return;
+        }
+
+        PromotionApplication application = stackable.get(index);
+        int group = groups[index];
+        if (group < 0 || !groupUsed[group]) {
+            long[] linesAfter = remainingLines.clone();
+            long gained = 0;
+            for (int line = 0; line < linesAfter.length; line++) {
+                long discount = application.getLineDiscountMinor(line);
+                if (discount > 0) {
+                    long take = Math.min(discount, linesAfter[line]);
+                    linesAfter[line] -= take;
+                    gained += take;
+                }
+            }
+            long shippingTake = Math.min(application.getShippingDiscountMinor(), remainingShipping);
+            gained += shippingTake;
+
+            // Taking a promotion that adds nothing cannot help; only the exclude branch is explored.
+            if (gained > 0) {
+                chosen[index] = true;
+                if (group >= 0) {
+                    groupUsed[group] = true;
+                }
+                search(index + 1, linesAfter, remainingShipping - shippingTake, value + gained,
+                        priority + application.getPromotion().getPriority());
+                chosen[index] = false;
+                if (group >= 0) {
+                    groupUsed[group] = false;
+                }
+            }
+        }
+
+        search(index + 1, remainingLines, remainingShipping, value, priority);
+    }
+
+    private long cappedValue(List<PromotionApplication> applications) {
+        long total = 0;
+        for (PromotionApplication application : applyInPriorityOrder(applications)) {
+            total += application.getTotalDiscountMinor();
+        }
+        return total;
+    }
+
+    private List<PromotionApplication> applyInPriorityOrder(List<PromotionApplication> applications) {
+        List<PromotionApplication> ordered = new ArrayList<>(applications);
+        ordered.sort(Comparator.comparing((PromotionApplication application) -> -application.getPromotion().getPriority())
+                .thenComparing(application -> -application.getTotalDiscountMinor())
+                .thenComparing(application -> application.getPromotion().getId()));
+
+        long[] remainingLines = lineValues();
+        long[] remainingShipping = {cart.getShippingFee().getMinorUnits()};
+        List<PromotionApplication> capped = new ArrayList<>(ordered.size());
+        for (PromotionApplication application : ordered) {
+            PromotionApplication limited = application.capped(remainingLines, remainingShipping);
+            if (!limited.isEmpty()) {
+                capped.add(limited);
+            }
+        }
+        return capped;
+    }
+
+    private long[] lineValues() {
+        long[] values = new long[cart.getLines().size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = cart.getLines().get(i).getTotal().getMinorUnits();
+        }
+        return values;
+    }
+
+    /**
+     * Search position plus everything that determines what can still be gained from it
+     * (the value so far follows from the remaining line values; priority settles ties).
+     */
+    private static final class State {
+        private final int index;
+        private final int priority;
+        private final long[] remainingLines;
+        private final long remainingShipping;
+        private final boolean[] groupUsed;
+        private final int hash;
+
+        private State(int index, int priority, long[] remainingLines, long remainingShipping, boolean[] groupUsed) {
+            this.index = index;
+            this.priority = priority;
+            this.remainingLines = remainingLines;
+            this.remainingShipping = remainingShipping;
+            this.groupUsed = groupUsed.clone();
+            this.hash = Objects.hash(index, priority, Arrays.hashCode(remainingLines), remainingShipping,
+                    Arrays.hashCode(this.groupUsed));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof State state
+                    && index == state.index
+                    && priority == state.priority
+                    && Arrays.equals(remainingLines, state.remainingLines)
+                    && remainingShipping == state.remainingShipping
+                    && Arrays.equals(groupUsed, state.groupUsed);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * optimal is false when the time budget ran out and the best combination found so far was used.
+     */
+    public record Selection(List<PromotionApplication> applications, boolean optimal) {
+    }
+}
@@ -0,0 +1,234 @@
+package com.inventorypro.service;
+
+import com.inventorypro.repository.PromotionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Promotion usage counting without a hot row per checkout.
+ *
+ * Unlimited promotions count on striped in-memory counters that are added to usage_count
+ * every flush interval. Limited promotions work like the order number blocks: a node leases
+ * an allowance from usage_count with a conditional update that can never pass usage_limit,
+ * hands it out from memory and leases again when it runs dry. Leases shrink as the limit
+ * gets close, and allowances left idle or held at shutdown are given back, so the limit is
+ * exact and a campaign can still use its last units.
+ *
+ * Because usage_count includes leased but unused uses, it is not a test of exhaustion: the
+ * catalog keeps limited promotions loaded and asks {@link #isExhausted} instead.
+ */
+@Component
+@Slf4j
+public class PromotionUsageTracker {
+
+    /**
+     * Near the limit a node leases at most this fraction of what is left.
+     */
+    private static final int TAIL_SHARE_DIVISOR = 4;
+
+    private final PromotionRepository promotionRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final int leaseBlockSize;
+    private final long idleReturnMillis;
+    private final Counter leaseCounter;
+
+    private final Map<Long, Allowance> allowances = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> unlimitedUses = new ConcurrentHashMap<>();
+
+    public PromotionUsageTracker(PromotionRepository promotionRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${promotion-usage.lease-block-size:50}") int leaseBlockSize,
+                                 @Value("${promotion-usage.idle-return-ms:30000}") long idleReturnMillis) {
+        this.promotionRepository = promotionRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leaseBlockSize = leaseBlockSize;
+        this.idleReturnMillis = idleReturnMillis;
+        this.leaseCounter = Counter.builder("promotion.usage.leases")
+                .description("Usage allowances leased from the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take one use of the promotion. False means its usage limit is reached.
+     */
+    public boolean tryAcquire(CompiledPromotion promotion) {
+        if (promotion.getUsageLimit() == null) {
+            unlimitedUses.computeIfAbsent(promotion.getId(), id -> new LongAdder()).increment();
+            return true;
+        }
+
+        Allowance allowance = allowances.computeIfAbsent(promotion.getId(), Allowance::new);
+        if (allowance.tryTake()) {
+            return true;
+        }
+        synchronized (allowance) {
+            if (allowance.tryTake()) {
+                return true;
+            }
+            if (allowance.exhausted) {
+                return false;
+            }
+            int granted = lease(promotion.getId());
+            if (granted == 0) {
+                allowance.exhausted = true;
+                return false;
+            }
+            allowance.remaining.addAndGet(granted - 1);
+            allowance.lastUsedMillis = System.currentTimeMillis();
+            return true;
+        }
+    }
+
+    /**
+     * Give back a use taken by {@link #tryAcquire} whose order did not go through.
+     */
+    public void release(CompiledPromotion promotion) {
+        if (promotion.getUsageLimit() == null) {
+            LongAdder uses = unlimitedUses.get(promotion.getId());
+            if (uses != null) {
+                uses.decrement();
+            }
+            return;
+        }
+        Allowance allowance = allowances.get(promotion.getId());
+        if (allowance != null) {
+            allowance.remaining.incrementAndGet();
+        }
+    }
+
+    /**
+     * Whether this node has seen the promotion's limit reached; such promotions are not offered.
+     */
+    public boolean isExhausted(Long promotionId) {
+        Allowance allowance = allowances.get(promotionId);
+        return allowance != null && allowance.exhausted && allowance.remaining.get() <= 0;
+    }
+
+    /**
+     * Write counted unlimited uses, return allowances nobody has drawn on lately and let
+     * exhausted promotions try again, since other nodes may have returned theirs.
+     */
+    @Scheduled(fixedDelayString = "${promotion-usage.flush-interval-ms:5000}")
+    public void flush() {
+        unlimitedUses.forEach((promotionId, uses) -> {
+            long count = uses.sumThenReset();
+            if (count > 0) {
+                write(promotionId, (int) count);
+            } else if (count < 0) {
+                uses.add(count);
+            }
+        });
+
+        long idleBefore = System.currentTimeMillis() - idleReturnMillis;
+        for (Allowance allowance : allowances.values()) {
+            synchronized (allowance) {
+                allowance.exhausted = false;
+                if (allowance.lastUsedMillis < idleBefore) {
+                    giveBack(allowance);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        unlimitedUses.forEach((promotionId, uses) -> {
+            long count = uses.sumThenReset();
+            if (count > 0) {
+                write(promotionId, (int) count);
+            }
+        });
+        for (Allowance allowance : allowances.values()) {
+            synchronized (allowance) {
+                giveBack(allowance);
+            }
+        }
+    }
+
+    /**
+     * Lease up to a block of uses, fewer near the limit. Returns 0 once the limit is reached.
+     */
+    private int lease(Long promotionId) {
+        Integer granted = leaseTransaction.execute(status -> {
+            for (int attempt = 0; attempt < 3; attempt++) {
+                List<Object[]> usage = promotionRepository.findUsage(promotionId);
+                if (usage.isEmpty() || usage.get(0)[1] == null) {
+                    return 0;
+                }
+                int used = usage.get(0)[0] != null ? ((Number) usage.get(0)[0]).intValue() : 0;
+                int left = ((Number) usage.get(0)[1]).intValue() - used;
+                if (left <= 0) {
+                    return 0;
+                }
+                int request = Math.min(leaseBlockSize, Math.max(1, left / TAIL_SHARE_DIVISOR));
+                if (promotionRepository.incrementUsage(promotionId, request) == 1) {
+                    return request;
+                }
+                // Another node leased in between; read again.
+            }
+            return 0;
+        });
+        if (granted != null && granted > 0) {
+            leaseCounter.increment();
+            log.debug("Leased {} uses of promotion {}", granted, promotionId);
+        }
+        return granted != null ? granted : 0;
+    }
+
+    private void giveBack(Allowance allowance) {
+        int unused = allowance.remaining.getAndSet(0);
+        if (unused > 0) {
+            leaseTransaction.executeWithoutResult(status -> promotionRepository.decrementUsage(allowance.promotionId, unused));
+            log.debug("Returned {} unused uses of promotion {}", unused, allowance.promotionId);
+        }
+    }
+
+    private void write(Long promotionId, int count) {
+        try {
+            leaseTransaction.executeWithoutResult(status -> promotionRepository.incrementUsage(promotionId, count));
+        } catch (RuntimeException e) {
+            unlimitedUses.get(promotionId).add(count);
+            log.warn("Could not record {} uses of promotion {}, will retry: {}", count, promotionId, e.getMessage());
+        }
+    }
+
+    private static final class Allowance {
+        private final Long promotionId;
+        private final AtomicInteger remaining = new AtomicInteger();
+        private volatile boolean exhausted;
+        private volatile long lastUsedMillis = System.currentTimeMillis();
+
+        private Allowance(Long promotionId) {
+            this.promotionId = promotionId;
+        }
+
+        private boolean tryTake() {
+            while (true) {
+                int current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - 1)) {
+                    lastUsedMillis = System.currentTimeMillis();
+                    return true;
+                }
+            }
+        }
+    }
+}
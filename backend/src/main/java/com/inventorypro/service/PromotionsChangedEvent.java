@@ -0,0 +1,14 @@
+package com.inventorypro.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a promotion or its rules are written; the compiled catalog reloads after commit.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PromotionsChangedEvent {
+
+    private final Long promotionId;
+}
@@ -0,0 +1,24 @@
+package com.inventorypro.service;
+
+import com.inventorypro.dto.request.PurchaseOrderReceiptRequest;
+import com.inventorypro.dto.response.PurchaseOrderReceiptResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Books deliveries against purchase orders: stock in, IN movements, received quantities and status.
+ */
+public interface PurchaseOrderReceivingService {
+
+    /**
+     * Receive a whole delivery. Lines for the same SKU are summed first.
+     */
+    PurchaseOrderReceiptResponse receive(Long purchaseOrderId, PurchaseOrderReceiptRequest request);
+
+    /**
+     * Receive a stream of scanned barcodes, one per line, optionally followed by ",quantity".
+     * The barcode is the SKU. Scans are aggregated in memory, then booked in one transaction.
+     */
+    PurchaseOrderReceiptResponse receiveScans(Long purchaseOrderId, String warehouse, InputStream scans) throws IOException;
+}
@@ -0,0 +1,38 @@
+package com.inventorypro.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Drafts purchase orders for buyers to review before the working day starts.
+ * The cron fires on every node; only the node holding the job lease plans, and its drafts are
+ * committed before the lease is released, so no node drafts the same orders again.
+ */
+@Component
+public class ReplenishmentJob {
+
+    private static final String JOB_NAME = "replenishment";
+
+    private final ReplenishmentService replenishmentService;
+    private final ClusterJobLock clusterJobLock;
+    private final Duration lockAtMostFor;
+    private final Duration lockAtLeastFor;
+
+    public ReplenishmentJob(ReplenishmentService replenishmentService,
+                            ClusterJobLock clusterJobLock,
+                            @Value("${replenishment.lock-at-most-minutes:60}") long lockAtMostMinutes,
+                            @Value("${replenishment.lock-at-least-minutes:10}") long lockAtLeastMinutes) {
+        this.replenishmentService = replenishmentService;
+        this.clusterJobLock = clusterJobLock;
+        this.lockAtMostFor = Duration.ofMinutes(lockAtMostMinutes);
+        this.lockAtLeastFor = Duration.ofMinutes(lockAtLeastMinutes);
+    }
+
+    @Scheduled(cron = "${replenishment.cron:0 0 5 * * *}")
+    public void draftPurchaseOrders() {
+        clusterJobLock.runExclusively(JOB_NAME, lockAtMostFor, lockAtLeastFor, () -> replenishmentService.plan(true));
+    }
+}
@@ -0,0 +1,15 @@
+package com.inventorypro.service;
+
+import com.inventorypro.dto.response.ReplenishmentPlanResponse;
+
+/**
+ * Proposes purchase orders from recent sales velocity and the current stock position.
+ */
+public interface ReplenishmentService {
+
+    /**
+     * Evaluate every SKU and group the ones running out of cover by preferred supplier.
+     * With draft=true a DRAFT purchase order is created per supplier; otherwise nothing is written.
+     */
+    ReplenishmentPlanResponse plan(boolean draft);
+}
@@ -0,0 +1,88 @@
+package com.inventorypro.service;
+
+import com.inventorypro.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Releases the stock held by confirmed orders that were never shipped.
+ * The tracker is rebuilt from the orders table at startup; after that expirations come
+ * from the timer wheel and are released in batches through the workflow service.
+ * Each node's wheel only learns of its own confirmations, so a coarse sweep also loads the
+ * deadlines falling due before the next sweep. Orders confirmed on a node that has since died
+ * are still expired, and the release itself claims each order so only one node releases it.
+ */
+@Component
+@Slf4j
+public class ReservationExpiryJob {
+
+    private final ReservationExpiryTracker tracker;
+    private final OrderWorkflowService orderWorkflowService;
+    private final OrderRepository orderRepository;
+    private final int batchSize;
+    private final long retryDelayMs;
+    private final long sweepIntervalMs;
+
+    public ReservationExpiryJob(ReservationExpiryTracker tracker,
+                                OrderWorkflowService orderWorkflowService,
+                                OrderRepository orderRepository,
+                                @Value("${order-reservation.release-batch-size:200}") int batchSize,
+                                @Value("${order-reservation.retry-delay-ms:60000}") long retryDelayMs,
+                                @Value("${order-reservation.sweep-ms:300000}") long sweepIntervalMs) {
+        this.tracker = tracker;
+        this.orderWorkflowService = orderWorkflowService;
+        this.orderRepository = orderRepository;
+        this.batchSize = batchSize;
+        this.retryDelayMs = retryDelayMs;
+        this.sweepIntervalMs = sweepIntervalMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> deadlines = orderRepository.findReservationDeadlines();
+        for (Object[] row : deadlines) {
+            tracker.track((Long) row[0], (LocalDateTime) row[1]);
+        }
+        log.info("Tracking {} order reservations for expiry", deadlines.size());
+    }
+
+    /**
+     * Re-schedules every deadline due before the next sweep, whichever node confirmed the order.
+     * Scheduling an order the wheel already holds just replaces its deadline.
+     */
+    @Scheduled(fixedDelayString = "${order-reservation.sweep-ms:300000}",
+               initialDelayString = "${order-reservation.sweep-ms:300000}")
+    public void sweep() {
+        LocalDateTime before = LocalDateTime.now().plusNanos(sweepIntervalMs * 1_000_000);
+        List<Object[]> deadlines = orderRepository.findReservationDeadlinesBefore(before);
+        for (Object[] row : deadlines) {
+            tracker.track((Long) row[0], (LocalDateTime) row[1]);
+        }
+        log.debug("Sweep scheduled {} order reservations due before {}", deadlines.size(), before);
+    }
+
+    @Scheduled(fixedDelayString = "${order-reservation.tick-ms:1000}")
+    public void releaseExpired() {
+        List<Long> expired = tracker.pollExpired();
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<Long> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            try {
+                int released = orderWorkflowService.expireReservations(batch);
+                log.info("Released reservations of {} expired orders", released);
+            } catch (Exception e) {
+                // Typically a concurrent ship/cancel on one of the orders; the whole batch is retried.
+                log.warn("Releasing {} expired reservations failed, retrying in {} ms: {}",
+                        batch.size(), retryDelayMs, e.getMessage());
+                LocalDateTime retryAt = LocalDateTime.now().plusNanos(retryDelayMs * 1_000_000);
+                batch.forEach(orderId -> tracker.track(orderId, retryAt));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.inventorypro.service;
+
+import com.inventorypro.util.HashedTimerWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * In-memory deadlines of confirmed orders' stock reservations.
+ * Deadlines live in a hashed timer wheel, so confirming, shipping or cancelling an order is O(1)
+ * and finding the expired ones never touches the orders table. Changes made inside a transaction
+ * are applied to the wheel only once it commits.
+ */
+@Component
+@Slf4j
+public class ReservationExpiryTracker {
+
+    private final HashedTimerWheel<Long> wheel;
+    private final Duration ttl;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public ReservationExpiryTracker(MeterRegistry meterRegistry,
+                                    @Value("${order-reservation.ttl-minutes:1440}") long ttlMinutes,
+                                    @Value("${order-reservation.tick-ms:1000}") long tickMillis,
+                                    @Value("${order-reservation.wheel-size:4096}") int wheelSize) {
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.wheel = new HashedTimerWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+
+        Gauge.builder("order.reservation.tracked", wheel, HashedTimerWheel::size)
+                .description("Confirmed orders whose reservation is waiting to expire")
+                .register(meterRegistry);
+    }
+
+    public LocalDateTime expiryFor(LocalDateTime confirmedAt) {
+        return confirmedAt.plus(ttl);
+    }
+
+    public void track(Long orderId, LocalDateTime expiresAt) {
+        long deadline = expiresAt.atZone(zone).toInstant().toEpochMilli();
+        afterCommit(() -> wheel.schedule(orderId, deadline));
+    }
+
+    public void untrack(Long orderId) {
+        afterCommit(() -> wheel.cancel(orderId));
+    }
+
+    /**
+     * Remove and return the orders whose reservation deadline has passed.
+     */
+    public List<Long> pollExpired() {
+        return wheel.advance(System.currentTimeMillis());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.inventorypro.service;
+
+/**
+ * Comparison operators of promotion rule conditions, resolved once when a promotion is compiled.
+ */
+public enum RuleOperator {
+    GT(">"), GTE(">="), LT("<"), LTE("<="), EQ("=="), NE("!="), IN("in");
+
+    private final String symbol;
+
+    RuleOperator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public static RuleOperator fromSymbol(String symbol) {
+        for (RuleOperator operator : values()) {
+            if (operator.symbol.equals(symbol)) {
+                return operator;
+            }
+        }
+        throw new IllegalArgumentException("Unknown rule operator: " + symbol);
+    }
+
+    public boolean isNumeric() {
+        return this != IN && this != NE;
+    }
+
+    /**
+     * Apply to the result of actual.compareTo(expected).
+     */
+    public boolean matches(int comparison) {
+        switch (this) {
+            case GT: return comparison > 0;
+            case GTE: return comparison >= 0;
+            case LT: return comparison < 0;
+            case LTE: return comparison <= 0;
+            case EQ: return comparison == 0;
+            default: throw new IllegalStateException(symbol + " is not a numeric operator");
+        }
+    }
+}
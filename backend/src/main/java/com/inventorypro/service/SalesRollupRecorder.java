@@ -0,0 +1,147 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.Order;
+import com.inventorypro.repository.SalesRollupDailyRepository;
+import com.inventorypro.repository.SalesRollupHourlyRepository;
+import com.inventorypro.util.Money;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the daily and hourly sales rollups in step with orders.
+ * An order counts towards the hour it was placed in unless it is cancelled, the same rule as
+ * revenue reporting. Changes made inside a transaction are merged per bucket and written just
+ * before it commits, in a fixed bucket order, so the shared rollup rows stay locked only briefly
+ * and concurrent writers cannot deadlock; a rolled-back transaction discards its changes.
+ * Outside a transaction changes are written straight away.
+ */
+@Component
+public class SalesRollupRecorder {
+
+    private static final Comparator<Bucket> BUCKET_ORDER = Comparator.comparing(Bucket::hour)
+            .thenComparing(Bucket::channel)
+            .thenComparing(Bucket::currency);
+
+    private final SalesRollupDailyRepository dailyRepository;
+    private final SalesRollupHourlyRepository hourlyRepository;
+
+    public SalesRollupRecorder(SalesRollupDailyRepository dailyRepository,
+                               SalesRollupHourlyRepository hourlyRepository) {
+        this.dailyRepository = dailyRepository;
+        this.hourlyRepository = hourlyRepository;
+    }
+
+    public void orderPlaced(Order order) {
+        record(order, counts(order.getStatus()));
+    }
+
+    /**
+     * Call after the order's status has been set; only changes into or out of CANCELLED move the rollups.
+     */
+    public void statusChanged(Order order, Order.OrderStatus previousStatus) {
+        record(order, counts(order.getStatus()) - counts(previousStatus));
+    }
+
+    public void orderRemoved(Order order) {
+        record(order, -counts(order.getStatus()));
+    }
+
+    private void record(Order order, int sign) {
+        if (sign == 0) {
+            return;
+        }
+        LocalDateTime placedAt = order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
+        Bucket bucket = new Bucket(placedAt.truncatedTo(ChronoUnit.HOURS),
+                order.getChannel() != null ? order.getChannel() : Order.OrderChannel.ONLINE,
+                order.getCurrency() != null ? order.getCurrency() : "USD");
+        long sales = order.getTotal() != null ? Money.toMinor(order.getTotal(), RoundingMode.HALF_UP) : 0;
+        Delta delta = new Delta(sign, sign * sales);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(Map.of(bucket, delta));
+            return;
+        }
+        currentBuffer().merge(bucket, delta, Delta::plus);
+    }
+
+    /**
+     * Registered as a synchronization rather than a bound resource, like the stock movement journal's buffer.
+     */
+    private Map<Bucket, Delta> currentBuffer() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Buffer buffer && buffer.owner() == this) {
+                return buffer.deltas;
+            }
+        }
+        Buffer buffer = new Buffer();
+        TransactionSynchronizationManager.registerSynchronization(buffer);
+        return buffer.deltas;
+    }
+
+    private void write(Map<Bucket, Delta> deltas) {
+        Map<Bucket, Delta> hours = new TreeMap<>(BUCKET_ORDER);
+        Map<Bucket, Delta> days = new TreeMap<>(BUCKET_ORDER);
+        deltas.forEach((bucket, delta) -> {
+            if (!delta.isZero()) {
+                hours.merge(bucket, delta, Delta::plus);
+                days.merge(bucket.day(), delta, Delta::plus);
+            }
+        });
+
+        days.forEach((bucket, delta) -> {
+            if (!delta.isZero()) {
+                dailyRepository.add(bucket.hour().toLocalDate(), bucket.channel(), bucket.currency(),
+                        delta.orders(), Money.ofMinor(delta.sales(), bucket.currency()).toBigDecimal());
+            }
+        });
+        hours.forEach((bucket, delta) -> hourlyRepository.add(bucket.hour(), bucket.channel(), bucket.currency(),
+                delta.orders(), Money.ofMinor(delta.sales(), bucket.currency()).toBigDecimal()));
+    }
+
+    private static int counts(Order.OrderStatus status) {
+        return status == Order.OrderStatus.CANCELLED ? 0 : 1;
+    }
+
+    private record Bucket(LocalDateTime hour, Order.OrderChannel channel, String currency) {
+
+        private Bucket day() {
+            return new Bucket(hour.truncatedTo(ChronoUnit.DAYS), channel, currency);
+        }
+    }
+
+    /**
+     * Change in order count and in sales, in minor units.
+     */
+    private record Delta(long orders, long sales) {
+
+        private Delta plus(Delta other) {
+            return new Delta(orders + other.orders, Math.addExact(sales, other.sales));
+        }
+
+        private boolean isZero() {
+            return orders == 0 && sales == 0;
+        }
+    }
+
+    private final class Buffer implements TransactionSynchronization {
+        private final Map<Bucket, Delta> deltas = new TreeMap<>(BUCKET_ORDER);
+
+        private SalesRollupRecorder owner() {
+            return SalesRollupRecorder.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(deltas);
+            deltas.clear();
+        }
+    }
+}
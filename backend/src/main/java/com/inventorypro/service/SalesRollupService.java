@@ -0,0 +1,15 @@
+package com.inventorypro.service;
+
+import java.time.LocalDate;
+
+/**
+ * Maintenance of the daily and hourly sales rollups; day-to-day updates come from {@link SalesRollupRecorder}.
+ */
+public interface SalesRollupService {
+
+    /**
+     * Recompute the rollups of the days in [from, to] from the orders, replacing what is there.
+     * Returns the number of orders counted.
+     */
+    long rebuild(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,46 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.InventoryItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Takes stock from candidate rows in the order they were locked (by id), line by line.
+ * Ignores warehouses; kept for setups with a single warehouse.
+ */
+@Component
+@ConditionalOnProperty(name = "stock-allocation.strategy", havingValue = "sequential")
+@Slf4j
+public class SequentialStockAllocator implements StockAllocator {
+
+    @Override
+    public Map<InventoryItem, Integer> allocate(List<Line> lines, ToIntFunction<InventoryItem> capacity,
+                                                boolean requireFull) {
+        Map<InventoryItem, Integer> plan = new LinkedHashMap<>();
+        for (Line line : lines) {
+            int remaining = line.getQuantity();
+            for (InventoryItem inventoryItem : line.getCandidates()) {
+                if (remaining <= 0) break;
+
+                int free = capacity.applyAsInt(inventoryItem) - plan.getOrDefault(inventoryItem, 0);
+                int take = Math.min(remaining, free);
+                if (take > 0) {
+                    plan.merge(inventoryItem, take, Integer::sum);
+                    remaining -= take;
+                }
+            }
+            if (remaining > 0 && requireFull) {
+                log.warn("Insufficient stock for item: {} (Required: {}, Short: {})",
+                        line.getDescription(), line.getQuantity(), remaining);
+                return null;
+            }
+        }
+        return plan;
+    }
+}
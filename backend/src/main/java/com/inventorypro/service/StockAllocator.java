@@ -0,0 +1,53 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.InventoryItem;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Decides which inventory rows serve an order. Runs inside the confirm transaction on rows that
+ * are already locked, so implementations work purely in memory and never touch the database.
+ * The active strategy is chosen with {@code stock-allocation.strategy}.
+ */
+public interface StockAllocator {
+
+    /**
+     * Plan how much each candidate row contributes to the lines, without touching the rows.
+     * With requireFull the plan is all-or-nothing and null is returned on any shortfall.
+     */
+    Map<InventoryItem, Integer> allocate(List<Line> lines, ToIntFunction<InventoryItem> capacity, boolean requireFull);
+
+    /**
+     * Wave allocation: orders are planned in sequence against the same rows, and capacity taken
+     * by an earlier plan is not offered to later orders. A null plan consumes nothing.
+     */
+    default List<Map<InventoryItem, Integer>> allocateWave(List<List<Line>> orders, ToIntFunction<InventoryItem> capacity,
+                                                           boolean requireFull) {
+        Map<InventoryItem, Integer> consumed = new HashMap<>();
+        ToIntFunction<InventoryItem> remaining = item -> capacity.applyAsInt(item) - consumed.getOrDefault(item, 0);
+
+        List<Map<InventoryItem, Integer>> plans = new ArrayList<>(orders.size());
+        for (List<Line> lines : orders) {
+            Map<InventoryItem, Integer> plan = allocate(lines, remaining, requireFull);
+            if (plan != null) {
+                plan.forEach((item, quantity) -> consumed.merge(item, quantity, Integer::sum));
+            }
+            plans.add(plan);
+        }
+        return plans;
+    }
+
+    /**
+     * One order line: the quantity wanted and the inventory rows that stock it.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    class Line {
+        private final String description;
+        private final int quantity;
+        private final List<InventoryItem> candidates;
+    }
+}
@@ -0,0 +1,83 @@
+package com.inventorypro.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Nightly archival of stock movements older than the retention horizon.
+ * Works in small batches, each its own transaction, and pauses between them so row locks
+ * stay short; a run stops after a fixed number of batches and the next run picks up the rest.
+ * Batches must be folded into the monthly summaries oldest first, so the run holds the job lease
+ * and only one node archives at a time.
+ */
+@Component
+@Slf4j
+public class StockArchiveJob {
+
+    private static final String JOB_NAME = "stock-archive";
+
+    private final StockArchiveService stockArchiveService;
+    private final ClusterJobLock clusterJobLock;
+    private final int retentionDays;
+    private final int batchSize;
+    private final long pauseMs;
+    private final int maxBatchesPerRun;
+    private final Duration lockAtMostFor;
+
+    public StockArchiveJob(StockArchiveService stockArchiveService,
+                           ClusterJobLock clusterJobLock,
+                           @Value("${stock-archive.retention-days:365}") int retentionDays,
+                           @Value("${stock-archive.batch-size:500}") int batchSize,
+                           @Value("${stock-archive.pause-ms:200}") long pauseMs,
+                           @Value("${stock-archive.max-batches-per-run:2000}") int maxBatchesPerRun,
+                           @Value("${stock-archive.lock-at-most-minutes:240}") long lockAtMostMinutes) {
+        this.stockArchiveService = stockArchiveService;
+        this.clusterJobLock = clusterJobLock;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.lockAtMostFor = Duration.ofMinutes(lockAtMostMinutes);
+    }
+
+    @Scheduled(cron = "${stock-archive.cron:0 0 2 * * *}")
+    public void archive() {
+        clusterJobLock.runExclusively(JOB_NAME, lockAtMostFor, Duration.ZERO, this::archiveBatches);
+    }
+
+    private void archiveBatches() {
+        LocalDateTime horizon = LocalDateTime.now().minusDays(retentionDays);
+        long archived = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int moved;
+            try {
+                moved = stockArchiveService.archiveBatch(horizon, batchSize);
+            } catch (IllegalStateException | DataIntegrityViolationException e) {
+                // Some rows were archived concurrently; the batch was rolled back and the next run reads it again.
+                log.warn("Stopping stock archival run: {}", e.getMessage());
+                break;
+            }
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} stock movements older than {}", archived, horizon);
+        }
+    }
+}
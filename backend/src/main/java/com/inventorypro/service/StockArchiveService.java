@@ -0,0 +1,15 @@
+package com.inventorypro.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves old stock movements out of the hot table while keeping monthly per-item summaries.
+ */
+public interface StockArchiveService {
+
+    /**
+     * Archive up to batchSize of the oldest movements created before the horizon, in one
+     * short transaction. Returns the number archived; less than batchSize means nothing is left.
+     */
+    int archiveBatch(LocalDateTime horizon, int batchSize);
+}
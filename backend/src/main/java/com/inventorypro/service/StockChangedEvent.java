@@ -0,0 +1,16 @@
+package com.inventorypro.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Published once committed on-hand stock changes are durable, with the products whose stock moved.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StockChangedEvent {
+
+    private final Set<Long> productIds;
+}
@@ -0,0 +1,27 @@
+package com.inventorypro.service;
+
+import com.inventorypro.dto.response.StockLevelResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+
+/**
+ * Point-in-time stock, rebuilt from the nearest snapshot plus the movement tail after it.
+ */
+public interface StockHistoryService {
+
+    StockLevelResponse getStockAsOf(Long inventoryItemId, LocalDateTime asOf);
+
+    StockLevelResponse getStockAsOf(String sku, String warehouse, LocalDateTime asOf);
+
+    /**
+     * Write the stock of every inventory item as of the given time as CSV, row by row.
+     */
+    void exportStockAsOf(LocalDateTime asOf, Writer writer) throws IOException;
+
+    /**
+     * Snapshot the inventory items with id in (afterId, afterId + limit]. Returns the rows written.
+     */
+    int takeSnapshots(LocalDateTime snapshotAt, long afterId, int limit);
+}
@@ -0,0 +1,134 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.InventoryItem;
+import com.inventorypro.model.StockMovement;
+import com.inventorypro.repository.StockMovementRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Append-only writer for the stock movement journal.
+ * Movements recorded inside a transaction are buffered and written as one JDBC batch just
+ * before the transaction commits; outside a transaction they are written straight away.
+ * A rolled-back transaction discards its buffer, so the journal never disagrees with stock.
+ * After commit a {@link StockChangedEvent} names the products whose on-hand stock moved.
+ */
+@Component
+public class StockMovementJournal {
+
+    private final StockMovementRepository stockMovementRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSize;
+
+    public StockMovementJournal(StockMovementRepository stockMovementRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.eventPublisher = eventPublisher;
+        this.flushTimer = Timer.builder("stock.movements.flush")
+                .description("Time to write one batch of stock movements")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("stock.movements.batch.size")
+                .description("Stock movements written per batch")
+                .register(meterRegistry);
+    }
+
+    public void record(StockMovement movement) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<StockMovement> movements = List.of(movement);
+            write(movements);
+            publish(changedProducts(movements));
+            return;
+        }
+        currentBuffer().movements.add(movement);
+    }
+
+    /**
+     * Announce stock that disappeared without a movement, i.e. a deleted inventory row,
+     * with the same after-commit event.
+     */
+    public void recordRemoval(InventoryItem inventoryItem) {
+        if (inventoryItem.getProduct() == null) {
+            return;
+        }
+        Long productId = inventoryItem.getProduct().getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(Set.of(productId));
+            return;
+        }
+        currentBuffer().removedProducts.add(productId);
+    }
+
+    /**
+     * The buffer is registered as a synchronization rather than a bound resource so that a
+     * suspended outer transaction keeps its own buffer while a REQUIRES_NEW one runs.
+     */
+    private Buffer currentBuffer() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Buffer buffer && buffer.owner() == this) {
+                return buffer;
+            }
+        }
+        Buffer buffer = new Buffer();
+        TransactionSynchronizationManager.registerSynchronization(buffer);
+        return buffer;
+    }
+
+    private void write(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        flushTimer.record(() -> stockMovementRepository.batchInsert(movements));
+        batchSize.record(movements.size());
+    }
+
+    private Set<Long> changedProducts(List<StockMovement> movements) {
+        Set<Long> productIds = new HashSet<>();
+        for (StockMovement movement : movements) {
+            if (movement.getMovementType().affectsOnHand() && movement.getInventoryItem().getProduct() != null) {
+                productIds.add(movement.getInventoryItem().getProduct().getId());
+            }
+        }
+        return productIds;
+    }
+
+    private void publish(Set<Long> productIds) {
+        if (!productIds.isEmpty()) {
+            eventPublisher.publishEvent(new StockChangedEvent(productIds));
+        }
+    }
+
+    private final class Buffer implements TransactionSynchronization {
+        private final List<StockMovement> movements = new ArrayList<>();
+        private final Set<Long> removedProducts = new HashSet<>();
+        private Set<Long> productIds = Set.of();
+
+        private StockMovementJournal owner() {
+            return StockMovementJournal.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(movements);
+            productIds = changedProducts(movements);
+            productIds.addAll(removedProducts);
+            movements.clear();
+        }
+
+        @Override
+        public void afterCommit() {
+            publish(productIds);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.inventorypro.service;
+
+import com.inventorypro.repository.InventoryItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Periodic stock checkpoints for point-in-time queries.
+ * Items are copied in id ranges, one short transaction per range, all under the same snapshot time.
+ */
+@Component
+@Slf4j
+public class StockSnapshotJob {
+
+    private final StockHistoryService stockHistoryService;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final int chunkSize;
+
+    public StockSnapshotJob(StockHistoryService stockHistoryService,
+                            InventoryItemRepository inventoryItemRepository,
+                            @Value("${stock-snapshot.chunk-size:1000}") int chunkSize) {
+        this.stockHistoryService = stockHistoryService;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${stock-snapshot.cron:0 0 0 * * *}")
+    public void snapshot() {
+        LocalDateTime snapshotAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        long maxId = inventoryItemRepository.findMaxId();
+
+        int written = 0;
+        for (long afterId = 0; afterId < maxId; afterId += chunkSize) {
+            written += stockHistoryService.takeSnapshots(snapshotAt, afterId, chunkSize);
+        }
+        log.info("Stock snapshot at {} covered {} inventory items", snapshotAt, written);
+    }
+}
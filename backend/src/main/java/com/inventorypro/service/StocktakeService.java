@@ -0,0 +1,20 @@
+package com.inventorypro.service;
+
+import com.inventorypro.dto.response.StocktakeResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Reconciles a physical stock count (CSV: sku, warehouse, counted quantity) with the system.
+ */
+public interface StocktakeService {
+
+    /**
+     * Merge the count against inventory, write the variance report to the given file and,
+     * when apply is set, set counted quantities as current stock with STOCKTAKE adjustments.
+     * Memory use does not depend on the size of the file.
+     */
+    StocktakeResult reconcile(InputStream csv, boolean apply, Path report) throws IOException;
+}
@@ -0,0 +1,164 @@
+package com.inventorypro.service.impl;
+
+import com.inventorypro.dto.request.CartPricingRequest;
+import com.inventorypro.dto.request.OrderItemRequest;
+import com.inventorypro.dto.response.CartPricingResponse;
+import com.inventorypro.repository.ProductRepository;
+import com.inventorypro.service.*;
+import com.inventorypro.util.Money;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Batch cart pricing for quotes and marketplace feeds.
+ * One query resolves the prices of everything referenced across the batch; after that each cart
+ * is priced on a dedicated pool from memory only, the same way {@link PromotionEngine} prices
+ * an order, without building orders or reading promotions from the database.
+ */
+@Service
+public class CartPricingServiceImpl implements CartPricingService {
+
+    private static final String DEFAULT_CURRENCY = "USD";
+
+    private final ProductRepository productRepository;
+    private final PromotionEngine promotionEngine;
+    private final ForkJoinPool pricingPool;
+    private final int maxCarts;
+
+    public CartPricingServiceImpl(ProductRepository productRepository,
+                                  PromotionEngine promotionEngine,
+                                  @Value("${cart-pricing.parallelism:0}") int parallelism,
+                                  @Value("${cart-pricing.max-carts:1000}") int maxCarts) {
+        this.productRepository = productRepository;
+        this.promotionEngine = promotionEngine;
+        this.pricingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxCarts = maxCarts;
+    }
+
+    @Override
+    public List<CompletableFuture<CartPricingResponse>> priceCarts(CartPricingRequest request) {
+        List<CartPricingRequest.Cart> carts = request.getCarts();
+        if (carts.size() > maxCarts) {
+            throw new IllegalArgumentException("At most " + maxCarts + " carts can be priced at once");
+        }
+
+        Prices prices = resolvePrices(carts);
+        List<CompletableFuture<CartPricingResponse>> results = new ArrayList<>(carts.size());
+        for (int i = 0; i < carts.size(); i++) {
+            int index = i;
+            results.add(CompletableFuture.supplyAsync(() -> price(index, carts.get(index), prices), pricingPool));
+        }
+        return results;
+    }
+
+    private Prices resolvePrices(List<CartPricingRequest.Cart> carts) {
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> variantIds = new HashSet<>();
+        for (CartPricingRequest.Cart cart : carts) {
+            for (OrderItemRequest item : cart.getItems()) {
+                productIds.add(item.getProductId());
+                if (item.getVariantId() != null) {
+                    variantIds.add(item.getVariantId());
+                }
+            }
+        }
+        if (variantIds.isEmpty()) {
+            // Identity ids start at 1; keeps the IN list valid on every database.
+            variantIds.add(0L);
+        }
+
+        Prices prices = new Prices();
+        for (Object[] row : productRepository.findPrices(productIds, variantIds)) {
+            Long productId = (Long) row[0];
+            prices.products.putIfAbsent(productId, new ProductPrice((Long) row[1], minorUnits((BigDecimal) row[2])));
+            if (row[3] != null) {
+                prices.variants.put((Long) row[3], new VariantPrice(productId, minorUnits((BigDecimal) row[4])));
+            }
+        }
+        return prices;
+    }
+
+    private CartPricingResponse price(int index, CartPricingRequest.Cart request, Prices prices) {
+        CartPricingResponse response = new CartPricingResponse();
+        response.setIndex(index);
+        response.setReference(request.getReference());
+        response.setCurrency(request.getCurrency() != null ? request.getCurrency() : DEFAULT_CURRENCY);
+
+        List<PricingCart.Line> lines = new ArrayList<>(request.getItems().size());
+        for (OrderItemRequest item : request.getItems()) {
+            ProductPrice product = prices.products.get(item.getProductId());
+            if (product == null) {
+                response.setError("Product not found: " + item.getProductId());
+                return response;
+            }
+            Long unitPrice = product.price();
+            if (item.getVariantId() != null) {
+                VariantPrice variant = prices.variants.get(item.getVariantId());
+                if (variant == null || !variant.productId().equals(item.getProductId())) {
+                    response.setError("Product variant not found: " + item.getVariantId());
+                    return response;
+                }
+                unitPrice = variant.price();
+            }
+            if (unitPrice == null) {
+                response.setError("No price for product " + item.getProductId());
+                return response;
+            }
+            lines.add(new PricingCart.Line(item.getProductId(), item.getVariantId(), product.categoryId(),
+                    item.getQuantity(), Money.ofMinor(unitPrice, response.getCurrency()), null));
+        }
+
+        PricingCart cart = new PricingCart(request.getCustomerType(), response.getCurrency(),
+                PricingCart.money(request.getShippingFee(), response.getCurrency()), lines);
+        PricingResult result = promotionEngine.price(cart);
+
+        for (int i = 0; i < lines.size(); i++) {
+            PricingCart.Line line = lines.get(i);
+            response.getLines().add(new CartPricingResponse.Line(line.getProductId(), line.getVariantId(),
+                    line.getQuantity(), line.getUnitPrice().toBigDecimal(), line.getTotal().toBigDecimal(),
+                    result.getLineDiscount(i).toBigDecimal()));
+        }
+        for (PromotionApplication application : result.getApplications()) {
+            response.getPromotions().add(new CartPricingResponse.AppliedPromotion(application.getPromotion().getId(),
+                    application.getPromotion().getName(), application.getTotalDiscount().toBigDecimal(),
+                    application.getExplanation()));
+        }
+        response.setSubtotal(cart.getTotal().toBigDecimal());
+        response.setShippingFee(cart.getShippingFee().toBigDecimal());
+        response.setShippingDiscount(result.getShippingDiscount().toBigDecimal());
+        response.setTotalDiscount(result.getTotalDiscount().toBigDecimal());
+        response.setTotal(cart.getTotal().plus(cart.getShippingFee()).minus(result.getTotalDiscount()).toBigDecimal());
+        response.setOptimal(result.isOptimal());
+        return response;
+    }
+
+    private static Long minorUnits(BigDecimal price) {
+        return price != null ? Money.toMinor(price, RoundingMode.HALF_UP) : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pricingPool.shutdown();
+    }
+
+    private static final class Prices {
+        private final Map<Long, ProductPrice> products = new HashMap<>();
+        private final Map<Long, VariantPrice> variants = new HashMap<>();
+    }
+
+    /**
+     * Prices in minor units, converted once per batch.
+     */
+    private record ProductPrice(Long categoryId, Long price) {
+    }
+
+    private record VariantPrice(Long productId, Long price) {
+    }
+}
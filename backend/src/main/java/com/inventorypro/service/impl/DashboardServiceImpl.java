@@ -11,6 +11,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +37,12 @@ public class DashboardServiceImpl implements DashboardService {
     @Autowired
     private OrderItemRepository orderItemRepository;
 
+    @Autowired
+    private SalesRollupDailyRepository salesRollupDailyRepository;
+
+    @Autowired
+    private SalesRollupHourlyRepository salesRollupHourlyRepository;
+
     @Override
     public DashboardStatsResponse getDashboardStats() {
         DashboardStatsResponse stats = new DashboardStatsResponse();
@@ -53,9 +61,9 @@ public class DashboardServiceImpl implements DashboardService {
         Long totalProducts = productRepository.count();
         stats.setTotalProducts(totalProducts);
 
-        // Low stock items count
-        Long lowStockItems = (long) inventoryItemRepository.findLowStockItems().size();
-        stats.setLowStockItems(lowStockItems);
+        // Low / out of stock counts, read from the maintained stock status columns
+        stats.setLowStockItems(inventoryItemRepository.countLowStockItems());
+        stats.setOutOfStockItems(inventoryItemRepository.countOutOfStockItems());
 
         stats.setCurrency("USD");
 
@@ -63,28 +71,39 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
-    public List<Map<String, Object>> getSalesData(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Order> orders = orderRepository.findOrdersByDateRange(startDate, endDate);
-
-        // Group orders by month and calculate sales
-        Map<String, BigDecimal> monthlySales = new HashMap<>();
-        Map<String, Long> monthlyOrders = new HashMap<>();
-
-        orders.forEach(order -> {
-            String month = order.getCreatedAt().getMonth().toString();
-            monthlySales.merge(month, order.getTotal(), BigDecimal::add);
-            monthlyOrders.merge(month, 1L, Long::sum);
-        });
+    public List<Map<String, Object>> getSalesData(LocalDateTime startDate, LocalDateTime endDate,
+                                                  String interval, Order.OrderChannel channel) {
+        switch (interval) {
+            case "hour":
+                return salesRollupHourlyRepository
+                        .sumByHour(startDate.truncatedTo(ChronoUnit.HOURS), endDate, channel).stream()
+                        .map(row -> salesPoint(interval, row[0], row[1], row[2], row[3]))
+                        .collect(Collectors.toList());
+            case "day":
+                return salesRollupDailyRepository
+                        .sumByDay(startDate.toLocalDate(), endDate.toLocalDate(), channel).stream()
+                        .map(row -> salesPoint(interval, row[0], row[1], row[2], row[3]))
+                        .collect(Collectors.toList());
+            case "month":
+                // Keyed by year and month so the same month of different years stays apart.
+                return salesRollupDailyRepository
+                        .sumByMonth(startDate.toLocalDate(), endDate.toLocalDate(), channel).stream()
+                        .map(row -> salesPoint(interval, YearMonth.of((Integer) row[0], (Integer) row[1]),
+                                row[2], row[3], row[4]))
+                        .collect(Collectors.toList());
+            default:
+                throw new IllegalArgumentException("Unknown sales interval: " + interval + " (use month, day or hour)");
+        }
+    }
 
-        return monthlySales.entrySet().stream()
-                .map(entry -> {
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("month", entry.getKey());
-                    data.put("sales", entry.getValue());
-                    data.put("orders", monthlyOrders.get(entry.getKey()));
-                    return data;
-                })
-                .collect(Collectors.toList());
+    private static Map<String, Object> salesPoint(String interval, Object period, Object currency,
+                                                  Object orders, Object sales) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(interval, period.toString());
+        data.put("currency", currency);
+        data.put("orders", orders);
+        data.put("sales", sales);
+        return data;
     }
 
     @Override
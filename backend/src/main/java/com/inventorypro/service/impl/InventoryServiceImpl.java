@@ -3,25 +3,37 @@ package com.inventorypro.service.impl;
 import com.inventorypro.dto.request.StockAdjustmentRequest;
 import com.inventorypro.exception.ResourceNotFoundException;
 import com.inventorypro.model.InventoryItem;
+import com.inventorypro.model.StockMovement;
 import com.inventorypro.repository.InventoryItemRepository;
 import com.inventorypro.service.InventoryService;
+import com.inventorypro.service.StockMovementJournal;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @Transactional
+@Slf4j
 public class InventoryServiceImpl implements InventoryService {
 
     @Autowired
     private InventoryItemRepository inventoryItemRepository;
 
+    @Autowired
+    private StockMovementJournal stockMovementJournal;
+
     @Override
     public InventoryItem createInventoryItem(InventoryItem inventoryItem) {
-        return inventoryItemRepository.save(inventoryItem);
+        InventoryItem saved = inventoryItemRepository.save(inventoryItem);
+        recordMovement(saved, 0, StockMovement.ReasonCode.INITIAL_STOCK, null);
+        return saved;
     }
 
     @Override
@@ -48,18 +60,46 @@ public class InventoryServiceImpl implements InventoryService {
         return inventoryItemRepository.findLowStockItems();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryItem> getLowStockItems(Pageable pageable) {
+        return inventoryItemRepository.findLowStockItems(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countLowStockItems() {
+        return inventoryItemRepository.countLowStockItems();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<InventoryItem> getOutOfStockItems() {
         return inventoryItemRepository.findOutOfStockItems();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long countOutOfStockItems() {
+        return inventoryItemRepository.countOutOfStockItems();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillStockStatus() {
+        int updated = inventoryItemRepository.backfillStockStatus();
+        if (updated > 0) {
+            log.info("Initialised stock status of {} inventory items", updated);
+        }
+    }
+
     @Override
     public InventoryItem updateStock(Long id, StockAdjustmentRequest request) {
         InventoryItem inventoryItem = inventoryItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
 
+        int previousStock = inventoryItem.getCurrentStock();
         inventoryItem.setCurrentStock(request.getQuantity());
+        recordMovement(inventoryItem, previousStock, StockMovement.ReasonCode.STOCK_COUNT, request.getReason());
         return inventoryItemRepository.save(inventoryItem);
     }
 
@@ -68,11 +108,34 @@ public class InventoryServiceImpl implements InventoryService {
         InventoryItem inventoryItem = inventoryItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
 
+        int previousStock = inventoryItem.getCurrentStock();
         int newStock = inventoryItem.getCurrentStock() + adjustment;
         inventoryItem.setCurrentStock(Math.max(0, newStock));
+        recordMovement(inventoryItem, previousStock, StockMovement.ReasonCode.MANUAL_ADJUSTMENT, null);
         return inventoryItemRepository.save(inventoryItem);
     }
 
+    private void recordMovement(InventoryItem inventoryItem, int previousStock,
+                                StockMovement.ReasonCode reasonCode, String note) {
+        int newStock = inventoryItem.getCurrentStock();
+        if (newStock == previousStock) {
+            return;
+        }
+        stockMovementJournal.record(StockMovement.builder()
+                .inventoryItem(inventoryItem)
+                .movementType(reasonCode == StockMovement.ReasonCode.INITIAL_STOCK
+                        ? StockMovement.MovementType.IN
+                        : StockMovement.MovementType.ADJUSTMENT)
+                .quantity(newStock - previousStock)
+                .previousStock(previousStock)
+                .newStock(newStock)
+                .reasonCode(reasonCode)
+                .reason(note)
+                .referenceType(StockMovement.ReferenceType.ADJUSTMENT)
+                .referenceId(inventoryItem.getId())
+                .build());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Integer getTotalStockByProductId(Long productId) {
@@ -80,11 +143,26 @@ public class InventoryServiceImpl implements InventoryService {
         return totalStock != null ? totalStock : 0;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getTotalStockByProductIds(Collection<Long> productIds) {
+        Map<Long, Integer> totals = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return totals;
+        }
+        productIds.forEach(productId -> totals.put(productId, 0));
+        for (Object[] row : inventoryItemRepository.getTotalStockByProductIds(productIds)) {
+            totals.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return totals;
+    }
+
     @Override
     public void deleteInventoryItem(Long id) {
         InventoryItem inventoryItem = inventoryItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
 
         inventoryItemRepository.delete(inventoryItem);
+        stockMovementJournal.recordRemoval(inventoryItem);
     }
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+package com.inventorypro.service.impl;
+
+import com.inventorypro.dto.request.OrderRequest;
+import com.inventorypro.exception.IdempotencyKeyMismatchException;
+import com.inventorypro.exception.OrderIntakeRejectedException;
+import com.inventorypro.model.Order;
+import com.inventorypro.service.OrderIntakeService;
+import com.inventorypro.service.OrderIntakeTicket;
+import com.inventorypro.service.OrderService;
+import com.inventorypro.util.OrderRequestHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded order intake pipeline.
+ * A fixed number of workers create orders so that a traffic spike queues up in memory
+ * instead of exhausting the DB connection pool; beyond the queue capacity we shed load.
+ */
+@Service
+@Slf4j
+public class OrderIntakeServiceImpl implements OrderIntakeService {
+
+    private final OrderService orderService;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, OrderIntakeTicket> tickets = new ConcurrentHashMap<>();
+    private final Queue<String> ticketOrder = new ConcurrentLinkedQueue<>();
+    private final Map<String, OrderIntakeTicket> ticketsByIdempotencyKey = new ConcurrentHashMap<>();
+    private final Queue<OrderIntakeTicket> idempotencyKeyOrder = new ConcurrentLinkedQueue<>();
+    private final int idempotencyWindow;
+    private final long idempotencyRetentionHours;
+    private final int ticketRetention;
+    private final int concurrency;
+    private final long syncTimeoutMs;
+    private final long minRetryAfterSeconds;
+
+    private final Timer waitTimer;
+    private final Timer processingTimer;
+    private final Counter rejectedCounter;
+
+    public OrderIntakeServiceImpl(OrderService orderService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${order-intake.concurrency:8}") int concurrency,
+                                  @Value("${order-intake.queue-capacity:200}") int queueCapacity,
+                                  @Value("${order-intake.sync-timeout-ms:10000}") long syncTimeoutMs,
+                                  @Value("${order-intake.retry-after-seconds:2}") long minRetryAfterSeconds,
+                                  @Value("${order-intake.ticket-retention:10000}") int ticketRetention,
+                                  @Value("${order-intake.idempotency-window:10000}") int idempotencyWindow,
+                                  @Value("${order-intake.idempotency-retention-hours:24}") long idempotencyRetentionHours) {
+        this.orderService = orderService;
+        this.concurrency = concurrency;
+        this.syncTimeoutMs = syncTimeoutMs;
+        this.minRetryAfterSeconds = minRetryAfterSeconds;
+        this.ticketRetention = ticketRetention;
+        this.idempotencyWindow = idempotencyWindow;
+        this.idempotencyRetentionHours = idempotencyRetentionHours;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "order-intake-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("order.intake.queue.depth", executor, e -> e.getQueue().size())
+                .description("Orders waiting for an intake worker")
+                .register(meterRegistry);
+        Gauge.builder("order.intake.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Orders currently being created")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("order.intake.wait")
+                .description("Time an order spent queued before a worker picked it up")
+                .register(meterRegistry);
+        this.processingTimer = Timer.builder("order.intake.processing")
+                .description("Time spent creating an order once picked up")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("order.intake.rejected")
+                .description("Orders rejected because the intake queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public OrderIntakeTicket submit(OrderRequest orderRequest) {
+        return submit(orderRequest, null);
+    }
+
+    @Override
+    public OrderIntakeTicket submit(OrderRequest orderRequest, String idempotencyKey) {
+        OrderIntakeTicket ticket = new OrderIntakeTicket(idempotencyKey,
+                idempotencyKey == null ? null : OrderRequestHash.of(orderRequest));
+        if (idempotencyKey != null) {
+            OrderIntakeTicket existing = ticketsByIdempotencyKey.putIfAbsent(idempotencyKey, ticket);
+            if (existing != null) {
+                // The hash covers the customer, so another customer's key is refused here too.
+                if (!existing.getRequestHash().equals(ticket.getRequestHash())) {
+                    throw new IdempotencyKeyMismatchException(idempotencyKey);
+                }
+                log.debug("Replaying idempotency key {} from ticket {}", idempotencyKey, existing.getReference());
+                return existing;
+            }
+        }
+
+        try {
+            executor.execute(() -> process(ticket, orderRequest));
+        } catch (RejectedExecutionException e) {
+            forgetIdempotencyKey(ticket);
+            rejectedCounter.increment();
+            log.warn("Order intake saturated (queued: {}, active: {}), rejecting order for customer {}",
+                    executor.getQueue().size(), executor.getActiveCount(), orderRequest.getCustomerId());
+            throw new OrderIntakeRejectedException(estimateRetryAfterSeconds());
+        }
+
+        // Queued only once admitted, so a rejected key leaves no entry that could evict a later ticket.
+        if (idempotencyKey != null) {
+            idempotencyKeyOrder.add(ticket);
+        }
+        tickets.put(ticket.getReference(), ticket);
+        ticketOrder.add(ticket.getReference());
+        evictExpiredTickets();
+        return ticket;
+    }
+
+    @Override
+    public Optional<Order> awaitOrder(OrderIntakeTicket ticket) {
+        try {
+            return Optional.of(ticket.getResult().get(syncTimeoutMs, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public Optional<OrderIntakeTicket> findTicket(String reference) {
+        return Optional.ofNullable(tickets.get(reference));
+    }
+
+    private void process(OrderIntakeTicket ticket, OrderRequest orderRequest) {
+        long startedAt = System.nanoTime();
+        waitTimer.record(startedAt - ticket.getQueuedAtNanos(), TimeUnit.NANOSECONDS);
+        ticket.markProcessing();
+        try {
+            Order order = orderService.createOrder(orderRequest, ticket.getIdempotencyKey());
+            ticket.markCompleted(order);
+        } catch (DataIntegrityViolationException e) {
+            if (ticket.getIdempotencyKey() == null) {
+                failTicket(ticket, e);
+                return;
+            }
+            // The key was claimed on another node (or before this node's memory was evicted).
+            Optional<Order> original;
+            try {
+                original = orderService.findByIdempotencyKey(ticket.getIdempotencyKey(), orderRequest);
+            } catch (IdempotencyKeyMismatchException mismatch) {
+                failTicket(ticket, mismatch);
+                return;
+            }
+            if (original.isPresent()) {
+                ticket.markCompleted(original.get());
+            } else {
+                failTicket(ticket, e);
+            }
+        } catch (Exception e) {
+            failTicket(ticket, e);
+        } finally {
+            processingTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Failed attempts leave no durable key behind, so the key is released for a retry.
+     */
+    private void failTicket(OrderIntakeTicket ticket, Exception e) {
+        log.warn("Order intake {} failed: {}", ticket.getReference(), e.getMessage());
+        forgetIdempotencyKey(ticket);
+        ticket.markFailed(e);
+    }
+
+    private void forgetIdempotencyKey(OrderIntakeTicket ticket) {
+        if (ticket.getIdempotencyKey() != null) {
+            ticketsByIdempotencyKey.remove(ticket.getIdempotencyKey(), ticket);
+            idempotencyKeyOrder.remove(ticket);
+        }
+    }
+
+    /**
+     * Time for the current backlog to drain at the observed processing rate,
+     * never less than the configured floor.
+     */
+    private long estimateRetryAfterSeconds() {
+        double meanProcessingMs = processingTimer.mean(TimeUnit.MILLISECONDS);
+        double drainMs = executor.getQueue().size() * meanProcessingMs / concurrency;
+        return Math.max(minRetryAfterSeconds, (long) Math.ceil(drainMs / 1000));
+    }
+
+    private void evictExpiredTickets() {
+        while (tickets.size() > ticketRetention) {
+            String oldest = ticketOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            tickets.remove(oldest);
+        }
+        while (ticketsByIdempotencyKey.size() > idempotencyWindow) {
+            OrderIntakeTicket oldest = idempotencyKeyOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            // Only the ticket queued here; a newer ticket under the same key keeps its own entry.
+            ticketsByIdempotencyKey.remove(oldest.getIdempotencyKey(), oldest);
+        }
+    }
+
+    /**
+     * Durable keys outlive the in-memory window but not forever.
+     */
+    @Scheduled(fixedDelayString = "${order-intake.idempotency-purge-interval-ms:3600000}")
+    public void purgeIdempotencyKeys() {
+        int purged = orderService.purgeIdempotencyKeys(LocalDateTime.now().minusHours(idempotencyRetentionHours));
+        if (purged > 0) {
+            log.info("Purged {} expired order idempotency keys", purged);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(syncTimeoutMs, TimeUnit.MILLISECONDS)) {
+            log.warn("Order intake did not drain before shutdown, {} orders left in queue", executor.getQueue().size());
+        }
+    }
+}
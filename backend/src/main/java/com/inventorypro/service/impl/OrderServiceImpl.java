@@ -1,16 +1,28 @@
 package com.inventorypro.service.impl;
 
+import com.inventorypro.dto.request.OrderItemRequest;
 import com.inventorypro.dto.request.OrderRequest;
+import com.inventorypro.exception.IdempotencyKeyMismatchException;
 import com.inventorypro.exception.ResourceNotFoundException;
 import com.inventorypro.model.Customer;
 import com.inventorypro.model.Order;
+import com.inventorypro.model.OrderIdempotencyKey;
 import com.inventorypro.model.OrderItem;
 import com.inventorypro.model.Product;
+import com.inventorypro.model.ProductVariant;
 import com.inventorypro.repository.CustomerRepository;
+import com.inventorypro.repository.OrderIdempotencyKeyRepository;
+import com.inventorypro.repository.OrderItemRepository;
 import com.inventorypro.repository.OrderRepository;
 import com.inventorypro.repository.ProductRepository;
+import com.inventorypro.repository.ProductVariantRepository;
 import com.inventorypro.service.OrderService;
+import com.inventorypro.service.SalesRollupRecorder;
+import com.inventorypro.util.Money;
 import com.inventorypro.util.OrderNumberGenerator;
+import com.inventorypro.util.OrderRequestHash;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,9 +30,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,54 +49,143 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductVariantRepository productVariantRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Autowired
+    private SalesRollupRecorder salesRollupRecorder;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Builds the order from one bulk lookup of products and variants, prices every line
+     * in a single pass and inserts the lines as one JDBC batch.
+     */
     @Override
     public Order createOrder(OrderRequest orderRequest) {
+        return createOrder(orderRequest, null);
+    }
+
+    @Override
+    public Order createOrder(OrderRequest orderRequest, String idempotencyKey) {
+        // Claim the key before doing any work; a duplicate fails here on the unique constraint.
+        OrderIdempotencyKey claimedKey = idempotencyKey == null ? null
+                : idempotencyKeyRepository.saveAndFlush(OrderIdempotencyKey.builder()
+                        .idempotencyKey(idempotencyKey)
+                        .customerId(orderRequest.getCustomerId())
+                        .requestHash(OrderRequestHash.of(orderRequest))
+                        .build());
+
         Customer customer = customerRepository.findById(orderRequest.getCustomerId())
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", orderRequest.getCustomerId()));
 
+        List<OrderItemRequest> itemRequests = orderRequest.getItems();
+        Map<Long, Product> products = productRepository.findAllById(itemRequests.stream()
+                        .map(OrderItemRequest::getProductId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Set<Long> variantIds = itemRequests.stream()
+                .map(OrderItemRequest::getVariantId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ProductVariant> variants = variantIds.isEmpty()
+                ? Collections.emptyMap()
+                : productVariantRepository.findAllById(variantIds).stream()
+                        .collect(Collectors.toMap(ProductVariant::getId, Function.identity()));
+
         Order order = new Order();
-        order.setOrderNumber(OrderNumberGenerator.generate());
+        order.setOrderNumber(orderNumberGenerator.generate());
         order.setCustomer(customer);
         order.setChannel(orderRequest.getChannel());
         order.setCurrency(orderRequest.getCurrency());
         order.setNotes(orderRequest.getNotes());
 
-        List<OrderItem> orderItems = orderRequest.getItems().stream()
-                .map(itemRequest -> {
-                    Product product = productRepository.findById(itemRequest.getProductId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", itemRequest.getProductId()));
-
-                    OrderItem orderItem = new OrderItem();
-                    orderItem.setOrder(order);
-                    orderItem.setProduct(product);
-                    orderItem.setProductName(product.getName());
-                    orderItem.setSku(product.getSku());
-                    orderItem.setQuantity(itemRequest.getQuantity());
-                    orderItem.setPrice(product.getPrice());
-                    orderItem.setTotal(product.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
-
-                    return orderItem;
-                })
-                .collect(Collectors.toList());
+        List<OrderItem> orderItems = new ArrayList<>(itemRequests.size());
+        Money total = Money.zero(order.getCurrency());
+
+        for (OrderItemRequest itemRequest : itemRequests) {
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product", "id", itemRequest.getProductId());
+            }
 
-        order.setItems(orderItems);
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrder(order);
+            orderItem.setProduct(product);
+            orderItem.setQuantity(itemRequest.getQuantity());
 
-        BigDecimal total = orderItems.stream()
-                .map(OrderItem::getTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        order.setTotal(total);
+            if (itemRequest.getVariantId() != null) {
+                ProductVariant variant = variants.get(itemRequest.getVariantId());
+                if (variant == null || !product.getId().equals(variant.getProduct().getId())) {
+                    throw new ResourceNotFoundException("ProductVariant", "id", itemRequest.getVariantId());
+                }
+                orderItem.setVariant(variant);
+                orderItem.setProductName(product.getName() + " - " + variant.getName());
+                orderItem.setSku(variant.getSku());
+                orderItem.setPrice(variant.getPrice());
+            } else {
+                orderItem.setProductName(product.getName());
+                orderItem.setSku(product.getSku());
+                orderItem.setPrice(product.getPrice());
+            }
 
-        Order savedOrder = orderRepository.save(order);
+            Money lineTotal = Money.of(orderItem.getPrice(), order.getCurrency(), RoundingMode.HALF_UP)
+                    .times(itemRequest.getQuantity());
+            orderItem.setTotal(lineTotal.toBigDecimal());
+            total = total.plus(lineTotal);
+            orderItems.add(orderItem);
+        }
 
-        // Update customer statistics
-        customer.setTotalOrders(customer.getTotalOrders() + 1);
-        customer.setTotalSpent(customer.getTotalSpent().add(total));
-        customer.setLastOrderAt(LocalDateTime.now());
-        customerRepository.save(customer);
+        order.setTotal(total.toBigDecimal());
+
+        // Lines are written by the batch insert below, not by cascade, so the order
+        // is detached before its item list is populated.
+        Order savedOrder = orderRepository.saveAndFlush(order);
+        entityManager.detach(savedOrder);
+        orderItemRepository.batchInsert(orderItems);
+        savedOrder.setItems(orderItems);
+
+        customerRepository.incrementOrderStatistics(customer.getId(), order.getTotal(), LocalDateTime.now());
+        salesRollupRecorder.orderPlaced(savedOrder);
+
+        if (claimedKey != null) {
+            claimedKey.setOrderId(savedOrder.getId());
+        }
 
         return savedOrder;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Order> findByIdempotencyKey(String idempotencyKey, OrderRequest orderRequest) {
+        String requestHash = OrderRequestHash.of(orderRequest);
+        return idempotencyKeyRepository.findByIdempotencyKey(idempotencyKey)
+                .map(key -> {
+                    if (!key.matches(orderRequest.getCustomerId(), requestHash)) {
+                        throw new IdempotencyKeyMismatchException(idempotencyKey);
+                    }
+                    return key.getOrderId();
+                })
+                .flatMap(orderRepository::findById);
+    }
+
+    @Override
+    public int purgeIdempotencyKeys(LocalDateTime cutoff) {
+        return idempotencyKeyRepository.deleteExpired(cutoff);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Order> findById(Long id) {
@@ -125,7 +227,9 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
 
+        Order.OrderStatus previousStatus = order.getStatus();
         order.setStatus(status);
+        salesRollupRecorder.statusChanged(order, previousStatus);
         return orderRepository.save(order);
     }
 
@@ -148,5 +252,6 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
 
         orderRepository.delete(order);
+        salesRollupRecorder.orderRemoved(order);
     }
 }
\ No newline at end of file
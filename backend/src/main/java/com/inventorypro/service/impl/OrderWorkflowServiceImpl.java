@@ -1,11 +1,18 @@
 package com.inventorypro.service.impl;
 
 import com.inventorypro.dto.request.OrderReturnRequest;
+import com.inventorypro.dto.request.BulkShipmentRequest;
 import com.inventorypro.dto.request.OrderShipmentRequest;
+import com.inventorypro.dto.response.BulkOrderActionResponse;
 import com.inventorypro.exception.ResourceNotFoundException;
 import com.inventorypro.model.*;
 import com.inventorypro.repository.*;
 import com.inventorypro.service.OrderWorkflowService;
+import com.inventorypro.service.ReservationExpiryTracker;
+import com.inventorypro.service.SalesRollupRecorder;
+import com.inventorypro.service.StockAllocator;
+import com.inventorypro.service.StockMovementJournal;
+import com.inventorypro.util.OrderNumberGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,7 +20,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -24,49 +34,68 @@ public class OrderWorkflowServiceImpl implements OrderWorkflowService {
     private final OrderRepository orderRepository;
     private final OrderReturnRepository orderReturnRepository;
     private final InventoryItemRepository inventoryItemRepository;
-    private final StockMovementRepository stockMovementRepository;
-
+    private final StockReservationRepository stockReservationRepository;
+    private final StockMovementJournal stockMovementJournal;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final ReservationExpiryTracker reservationExpiryTracker;
+    private final StockAllocator stockAllocator;
+    private final SalesRollupRecorder salesRollupRecorder;
+
+    /**
+     * Check and reserve in one step: the candidate inventory rows are locked once, availability
+     * is decided against the locked rows and the reservation is applied to the same rows.
+     * A shortfall on any line throws before anything is written, and the transaction rolls back.
+     * Concurrent confirmations of the same order are stopped by the order's optimistic version.
+     */
     @Override
     public Order confirmOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findAllWithItemsByIdIn(List.of(orderId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
         if (order.getStatus() != Order.OrderStatus.PENDING) {
             throw new IllegalStateException("Order must be in PENDING status to confirm");
         }
 
-        // Check stock availability
-        if (!checkStockAvailability(orderId)) {
+        InventoryCandidates inventory = lockInventory(List.of(order));
+        Map<InventoryItem, Integer> allocation = inventory.allocate(order, InventoryItem::getAvailableStock, true);
+        if (allocation == null) {
             throw new IllegalStateException("Insufficient stock for order confirmation");
         }
 
-        // Reserve stock for order items
-        reserveStockForOrder(order);
+        reserveStock(order, allocation);
 
+        LocalDateTime now = LocalDateTime.now();
         order.setStatus(Order.OrderStatus.CONFIRMED);
-        order.setConfirmedAt(LocalDateTime.now());
+        order.setConfirmedAt(now);
+        order.setReservationExpiresAt(reservationExpiryTracker.expiryFor(now));
+        reservationExpiryTracker.track(order.getId(), order.getReservationExpiresAt());
 
         return orderRepository.save(order);
     }
 
     @Override
     public Order shipOrder(Long orderId, OrderShipmentRequest shipmentRequest) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findAllWithItemsByIdIn(List.of(orderId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
         if (order.getStatus() != Order.OrderStatus.CONFIRMED) {
             throw new IllegalStateException("Order must be in CONFIRMED status to ship");
         }
 
+        // Process stock movements (OUT)
+        ReservedStock reserved = lockReservedStock(List.of(order));
+        shipReservedStock(order, reserved);
+
         // Update shipping information
         order.setTrackingCode(shipmentRequest.getTrackingCode());
         order.setShippingProvider(shipmentRequest.getShippingProvider());
         order.setShippingFee(shipmentRequest.getShippingFee());
         order.setStatus(Order.OrderStatus.SHIPPED);
         order.setShippedAt(LocalDateTime.now());
-
-        // Process stock movements (OUT)
-        processOrderShipment(order);
+        order.setReservationExpiresAt(null);
+        reservationExpiryTracker.untrack(order.getId());
 
         return orderRepository.save(order);
     }
@@ -98,7 +127,7 @@ public class OrderWorkflowServiceImpl implements OrderWorkflowService {
         // Create return record
         OrderReturn orderReturn = OrderReturn.builder()
                 .order(order)
-                .returnNumber(generateReturnNumber())
+                .returnNumber(orderNumberGenerator.generateReturnNumber())
                 .returnDate(LocalDate.now())
                 .reason(returnRequest.getReason())
                 .condition(returnRequest.getCondition())
@@ -119,7 +148,8 @@ public class OrderWorkflowServiceImpl implements OrderWorkflowService {
 
     @Override
     public Order cancelOrder(Long orderId, String reason) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findAllWithItemsByIdIn(List.of(orderId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
         if (order.getStatus() == Order.OrderStatus.SHIPPED || order.getStatus() == Order.OrderStatus.COMPLETED) {
@@ -128,11 +158,11 @@ public class OrderWorkflowServiceImpl implements OrderWorkflowService {
 
         // Release reserved stock if order was confirmed
         if (order.getStatus() == Order.OrderStatus.CONFIRMED) {
-            releaseReservedStock(order);
+            ReservedStock reserved = lockReservedStock(List.of(order));
+            releaseReservedStock(order, reserved, StockMovement.ReasonCode.ORDER_CANCELLATION);
         }
 
-        order.setStatus(Order.OrderStatus.CANCELLED);
-        order.setNotes(order.getNotes() + "\nCancellation reason: " + reason);
+        cancel(order, "Cancellation reason: " + reason);
 
         return orderRepository.save(order);
     }
@@ -166,144 +196,374 @@ public class OrderWorkflowServiceImpl implements OrderWorkflowService {
         return true;
     }
 
-    private void reserveStockForOrder(Order order) {
-        for (OrderItem item : order.getItems()) {
-            List<InventoryItem> inventoryItems;
-            
-            if (item.getVariant() != null) {
-                inventoryItems = inventoryItemRepository.findByVariantId(item.getVariant().getId());
+    @Override
+    public BulkOrderActionResponse confirmOrders(List<Long> orderIds) {
+        BulkOrderActionResponse response = new BulkOrderActionResponse();
+        Map<Long, Order> orders = loadOrders(orderIds, response);
+        InventoryCandidates inventory = lockInventory(orders.values());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Order> pending = new ArrayList<>();
+        for (Order order : orders.values()) {
+            if (order.getStatus() != Order.OrderStatus.PENDING) {
+                response.addFailure(order.getId(), order.getStatus(), "Order must be in PENDING status to confirm");
             } else {
-                inventoryItems = inventoryItemRepository.findByProductId(item.getProduct().getId());
+                pending.add(order);
             }
+        }
 
-            int remainingToReserve = item.getQuantity();
-            
-            for (InventoryItem inventoryItem : inventoryItems) {
-                if (remainingToReserve <= 0) break;
-
-                int availableStock = inventoryItem.getCurrentStock() - inventoryItem.getReservedStock();
-                int toReserve = Math.min(remainingToReserve, availableStock);
-
-                if (toReserve > 0) {
-                    // Create stock movement for reservation
-                    StockMovement movement = StockMovement.builder()
-                            .inventoryItem(inventoryItem)
-                            .movementType(StockMovement.MovementType.RESERVED)
-                            .quantity(toReserve)
-                            .previousStock(inventoryItem.getReservedStock())
-                            .newStock(inventoryItem.getReservedStock() + toReserve)
-                            .reason("Order confirmation - Reserved for order " + order.getOrderNumber())
-                            .referenceType(StockMovement.ReferenceType.ORDER)
-                            .referenceId(order.getId())
-                            .build();
-
-                    stockMovementRepository.save(movement);
-
-                    // Update reserved stock
-                    inventoryItem.setReservedStock(inventoryItem.getReservedStock() + toReserve);
-                    inventoryItemRepository.save(inventoryItem);
-
-                    remainingToReserve -= toReserve;
-                }
+        List<Map<InventoryItem, Integer>> allocations = inventory.allocateWave(pending, InventoryItem::getAvailableStock, true);
+        for (int i = 0; i < pending.size(); i++) {
+            Order order = pending.get(i);
+            Map<InventoryItem, Integer> allocation = allocations.get(i);
+            if (allocation == null) {
+                response.addFailure(order.getId(), order.getStatus(), "Insufficient stock for order confirmation");
+                continue;
             }
+
+            reserveStock(order, allocation);
+
+            order.setStatus(Order.OrderStatus.CONFIRMED);
+            order.setConfirmedAt(now);
+            order.setReservationExpiresAt(reservationExpiryTracker.expiryFor(now));
+            reservationExpiryTracker.track(order.getId(), order.getReservationExpiresAt());
+            response.addSuccess(order);
         }
+
+        return response;
     }
 
-    private void processOrderShipment(Order order) {
-        for (OrderItem item : order.getItems()) {
-            List<InventoryItem> inventoryItems;
-            
-            if (item.getVariant() != null) {
-                inventoryItems = inventoryItemRepository.findByVariantId(item.getVariant().getId());
+    @Override
+    public BulkOrderActionResponse shipOrders(List<BulkShipmentRequest.Shipment> shipments) {
+        BulkOrderActionResponse response = new BulkOrderActionResponse();
+        Map<Long, BulkShipmentRequest.Shipment> shipmentsByOrder = new LinkedHashMap<>();
+        shipments.forEach(shipment -> shipmentsByOrder.putIfAbsent(shipment.getOrderId(), shipment));
+
+        Map<Long, Order> orders = loadOrders(shipmentsByOrder.keySet(), response);
+        ReservedStock reserved = lockReservedStock(orders.values());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Order order : orders.values()) {
+            if (order.getStatus() != Order.OrderStatus.CONFIRMED) {
+                response.addFailure(order.getId(), order.getStatus(), "Order must be in CONFIRMED status to ship");
+                continue;
+            }
+
+            shipReservedStock(order, reserved);
+
+            BulkShipmentRequest.Shipment shipment = shipmentsByOrder.get(order.getId());
+            order.setTrackingCode(shipment.getTrackingCode());
+            order.setShippingProvider(shipment.getShippingProvider());
+            order.setShippingFee(shipment.getShippingFee());
+            order.setStatus(Order.OrderStatus.SHIPPED);
+            order.setShippedAt(now);
+            order.setReservationExpiresAt(null);
+            reservationExpiryTracker.untrack(order.getId());
+            response.addSuccess(order);
+        }
+
+        return response;
+    }
+
+    @Override
+    public BulkOrderActionResponse cancelOrders(List<Long> orderIds, String reason) {
+        BulkOrderActionResponse response = new BulkOrderActionResponse();
+        Map<Long, Order> orders = loadOrders(orderIds, response);
+        ReservedStock reserved = lockReservedStock(orders.values());
+
+        for (Order order : orders.values()) {
+            if (order.getStatus() == Order.OrderStatus.SHIPPED || order.getStatus() == Order.OrderStatus.COMPLETED) {
+                response.addFailure(order.getId(), order.getStatus(), "Cannot cancel shipped or completed orders");
+                continue;
+            }
+
+            if (order.getStatus() == Order.OrderStatus.CONFIRMED) {
+                releaseReservedStock(order, reserved, StockMovement.ReasonCode.ORDER_CANCELLATION);
+            }
+
+            cancel(order, "Cancellation reason: " + reason);
+            response.addSuccess(order);
+        }
+
+        return response;
+    }
+
+    /**
+     * Orders that changed state since their deadline was scheduled, or whose deadline was
+     * pushed out, are skipped; the rest are released like a bulk cancellation.
+     * Every node may be tracking the same deadline, so the orders are claimed with a skip-locked
+     * lock first and an order another node is already expiring is left to that node.
+     */
+    @Override
+    public int expireReservations(Collection<Long> orderIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> claimed = orderRepository.claimExpiredReservations(orderIds, now).stream()
+                .map(Order::getId)
+                .toList();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Order> orders = loadOrders(claimed, new BulkOrderActionResponse());
+        ReservedStock reserved = lockReservedStock(orders.values());
+        int expired = 0;
+
+        for (Order order : orders.values()) {
+            if (order.getStatus() != Order.OrderStatus.CONFIRMED
+                    || order.getReservationExpiresAt() == null
+                    || order.getReservationExpiresAt().isAfter(now)) {
+                continue;
+            }
+
+            releaseReservedStock(order, reserved, StockMovement.ReasonCode.RESERVATION_EXPIRY);
+            cancel(order, "Cancellation reason: Stock reservation expired at " + order.getReservationExpiresAt());
+            expired++;
+        }
+
+        return expired;
+    }
+
+    private void cancel(Order order, String note) {
+        Order.OrderStatus previousStatus = order.getStatus();
+        order.setStatus(Order.OrderStatus.CANCELLED);
+        salesRollupRecorder.statusChanged(order, previousStatus);
+        order.setNotes(order.getNotes() == null ? note : order.getNotes() + "\n" + note);
+        order.setReservationExpiresAt(null);
+        reservationExpiryTracker.untrack(order.getId());
+    }
+
+    /**
+     * Load the orders and their items in one query, in request order.
+     * Ids that do not exist are reported as failures straight away.
+     */
+    private Map<Long, Order> loadOrders(Collection<Long> orderIds, BulkOrderActionResponse response) {
+        Set<Long> requested = new LinkedHashSet<>(orderIds);
+        Map<Long, Order> found = orderRepository.findAllWithItemsByIdIn(requested).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        Map<Long, Order> orders = new LinkedHashMap<>();
+        for (Long orderId : requested) {
+            Order order = found.get(orderId);
+            if (order == null) {
+                response.addFailure(orderId, null, "Order not found");
             } else {
-                inventoryItems = inventoryItemRepository.findByProductId(item.getProduct().getId());
+                orders.put(orderId, order);
             }
+        }
+        return orders;
+    }
 
-            int remainingToShip = item.getQuantity();
-            
-            for (InventoryItem inventoryItem : inventoryItems) {
-                if (remainingToShip <= 0) break;
-
-                int reservedStock = inventoryItem.getReservedStock();
-                int toShip = Math.min(remainingToShip, reservedStock);
-
-                if (toShip > 0) {
-                    // Create stock movement for shipment
-                    StockMovement movement = StockMovement.builder()
-                            .inventoryItem(inventoryItem)
-                            .movementType(StockMovement.MovementType.OUT)
-                            .quantity(-toShip)
-                            .previousStock(inventoryItem.getCurrentStock())
-                            .newStock(inventoryItem.getCurrentStock() - toShip)
-                            .reason("Order shipment - " + order.getOrderNumber())
-                            .referenceType(StockMovement.ReferenceType.ORDER)
-                            .referenceId(order.getId())
-                            .build();
-
-                    stockMovementRepository.save(movement);
-
-                    // Update inventory
-                    inventoryItem.setCurrentStock(inventoryItem.getCurrentStock() - toShip);
-                    inventoryItem.setReservedStock(inventoryItem.getReservedStock() - toShip);
-                    inventoryItemRepository.save(inventoryItem);
-
-                    remainingToShip -= toShip;
+    /**
+     * Lock every inventory row that lines of pending orders could draw from. The candidate ids are
+     * looked up first without locks, then all rows are locked in one query in id order, so
+     * transactions mixing product and variant lines always lock in the same order.
+     */
+    private InventoryCandidates lockInventory(Collection<Order> orders) {
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> variantIds = new HashSet<>();
+        for (Order order : orders) {
+            if (order.getStatus() != Order.OrderStatus.PENDING) {
+                continue;
+            }
+            for (OrderItem item : order.getItems()) {
+                if (item.getVariant() != null) {
+                    variantIds.add(item.getVariant().getId());
+                } else if (item.getProduct() != null) {
+                    productIds.add(item.getProduct().getId());
                 }
             }
         }
+
+        Set<Long> inventoryIds = new HashSet<>();
+        if (!productIds.isEmpty()) {
+            inventoryIds.addAll(inventoryItemRepository.findIdsByProductIdIn(productIds));
+        }
+        if (!variantIds.isEmpty()) {
+            inventoryIds.addAll(inventoryItemRepository.findIdsByVariantIdIn(variantIds));
+        }
+
+        InventoryCandidates candidates = new InventoryCandidates();
+        if (inventoryIds.isEmpty()) {
+            return candidates;
+        }
+        for (InventoryItem item : inventoryItemRepository.findByIdInForUpdate(inventoryIds)) {
+            if (item.getProduct() != null && productIds.contains(item.getProduct().getId())) {
+                candidates.byProduct.computeIfAbsent(item.getProduct().getId(), id -> new ArrayList<>()).add(item);
+            }
+            if (item.getVariant() != null && variantIds.contains(item.getVariant().getId())) {
+                candidates.byVariant.computeIfAbsent(item.getVariant().getId(), id -> new ArrayList<>()).add(item);
+            }
+        }
+        return candidates;
     }
 
-    private void releaseReservedStock(Order order) {
-        for (OrderItem item : order.getItems()) {
-            List<InventoryItem> inventoryItems;
-            
+    /**
+     * Inventory rows grouped by the product or variant they stock.
+     */
+    private class InventoryCandidates {
+        private final Map<Long, List<InventoryItem>> byProduct = new HashMap<>();
+        private final Map<Long, List<InventoryItem>> byVariant = new HashMap<>();
+
+        private List<InventoryItem> candidatesFor(OrderItem item) {
             if (item.getVariant() != null) {
-                inventoryItems = inventoryItemRepository.findByVariantId(item.getVariant().getId());
-            } else {
-                inventoryItems = inventoryItemRepository.findByProductId(item.getProduct().getId());
+                return byVariant.getOrDefault(item.getVariant().getId(), Collections.emptyList());
+            }
+            if (item.getProduct() != null) {
+                return byProduct.getOrDefault(item.getProduct().getId(), Collections.emptyList());
             }
+            return Collections.emptyList();
+        }
 
-            int remainingToRelease = item.getQuantity();
-            
-            for (InventoryItem inventoryItem : inventoryItems) {
-                if (remainingToRelease <= 0) break;
-
-                int reservedStock = inventoryItem.getReservedStock();
-                int toRelease = Math.min(remainingToRelease, reservedStock);
-
-                if (toRelease > 0) {
-                    // Create stock movement for release
-                    StockMovement movement = StockMovement.builder()
-                            .inventoryItem(inventoryItem)
-                            .movementType(StockMovement.MovementType.RELEASED)
-                            .quantity(toRelease)
-                            .previousStock(inventoryItem.getReservedStock())
-                            .newStock(inventoryItem.getReservedStock() - toRelease)
-                            .reason("Order cancellation - Released from order " + order.getOrderNumber())
-                            .referenceType(StockMovement.ReferenceType.ORDER)
-                            .referenceId(order.getId())
-                            .build();
-
-                    stockMovementRepository.save(movement);
-
-                    // Update reserved stock
-                    inventoryItem.setReservedStock(inventoryItem.getReservedStock() - toRelease);
-                    inventoryItemRepository.save(inventoryItem);
-
-                    remainingToRelease -= toRelease;
-                }
+        private List<StockAllocator.Line> linesOf(Order order) {
+            List<StockAllocator.Line> lines = new ArrayList<>(order.getItems().size());
+            for (OrderItem item : order.getItems()) {
+                lines.add(new StockAllocator.Line(item.getProductName(), item.getQuantity(), candidatesFor(item)));
             }
+            return lines;
+        }
+
+        /**
+         * Plan how much each inventory row contributes to the order, without touching the rows.
+         * With requireFull the plan is all-or-nothing and null is returned on any shortfall.
+         */
+        private Map<InventoryItem, Integer> allocate(Order order, ToIntFunction<InventoryItem> capacity,
+                                                     boolean requireFull) {
+            return stockAllocator.allocate(linesOf(order), capacity, requireFull);
+        }
+
+        /**
+         * Plan a whole wave against the same rows, one plan per order in the given order.
+         */
+        private List<Map<InventoryItem, Integer>> allocateWave(List<Order> orders, ToIntFunction<InventoryItem> capacity,
+                                                               boolean requireFull) {
+            List<List<StockAllocator.Line>> wave = new ArrayList<>(orders.size());
+            orders.forEach(order -> wave.add(linesOf(order)));
+            return stockAllocator.allocateWave(wave, capacity, requireFull);
         }
     }
 
+    /**
+     * Lock the inventory rows the confirmed orders among the given ones reserved, in id order,
+     * with their saved reservations.
+     */
+    private ReservedStock lockReservedStock(Collection<Order> orders) {
+        ReservedStock reserved = new ReservedStock();
+        List<Long> confirmedIds = orders.stream()
+                .filter(order -> order.getStatus() == Order.OrderStatus.CONFIRMED)
+                .map(Order::getId)
+                .toList();
+        if (confirmedIds.isEmpty()) {
+            return reserved;
+        }
+
+        stockReservationRepository.findByOrderIdIn(confirmedIds).forEach(reservation ->
+                reserved.byOrder.computeIfAbsent(reservation.getOrderId(), id -> new ArrayList<>()).add(reservation));
+        Set<Long> inventoryIds = reserved.byOrder.values().stream()
+                .flatMap(List::stream)
+                .map(StockReservation::getInventoryItemId)
+                .collect(Collectors.toSet());
+        if (!inventoryIds.isEmpty()) {
+            inventoryItemRepository.findByIdInForUpdate(inventoryIds).forEach(item -> reserved.rows.put(item.getId(), item));
+        }
+        return reserved;
+    }
+
+    /**
+     * Locked inventory rows and the reservations confirmed orders hold on them.
+     */
+    private class ReservedStock {
+        private final Map<Long, List<StockReservation>> byOrder = new HashMap<>();
+        private final Map<Long, InventoryItem> rows = new HashMap<>();
+
+        /**
+         * What the order reserved on each row; the reservations are removed, as they are about to be
+         * shipped or released.
+         */
+        private Map<InventoryItem, Integer> take(Order order) {
+            List<StockReservation> reservations = byOrder.remove(order.getId());
+            if (reservations == null) {
+                return Collections.emptyMap();
+            }
+            Map<InventoryItem, Integer> allocation = new LinkedHashMap<>();
+            for (StockReservation reservation : reservations) {
+                allocation.merge(rows.get(reservation.getInventoryItemId()), reservation.getQuantity(), Integer::sum);
+            }
+            stockReservationRepository.deleteAllInBatch(reservations);
+            return allocation;
+        }
+    }
+
+    /**
+     * Apply a planned reservation to the locked rows, record a RESERVED movement per row and save
+     * the reservation so shipping and release act on the same rows.
+     */
+    private void reserveStock(Order order, Map<InventoryItem, Integer> allocation) {
+        List<StockReservation> reservations = new ArrayList<>(allocation.size());
+        allocation.forEach((inventoryItem, quantity) -> {
+            stockMovementJournal.record(StockMovement.builder()
+                    .inventoryItem(inventoryItem)
+                    .movementType(StockMovement.MovementType.RESERVED)
+                    .quantity(quantity)
+                    .previousStock(inventoryItem.getReservedStock())
+                    .newStock(inventoryItem.getReservedStock() + quantity)
+                    .reasonCode(StockMovement.ReasonCode.ORDER_CONFIRMATION)
+                    .referenceType(StockMovement.ReferenceType.ORDER)
+                    .referenceId(order.getId())
+                    .build());
+            inventoryItem.setReservedStock(inventoryItem.getReservedStock() + quantity);
+            reservations.add(StockReservation.builder()
+                    .orderId(order.getId())
+                    .inventoryItemId(inventoryItem.getId())
+                    .quantity(quantity)
+                    .build());
+        });
+        stockReservationRepository.saveAll(reservations);
+    }
+
+    /**
+     * Take what the order reserved on the locked rows out of stock and record an OUT movement per row.
+     */
+    private void shipReservedStock(Order order, ReservedStock reserved) {
+        Map<InventoryItem, Integer> allocation = reserved.take(order);
+        allocation.forEach((inventoryItem, quantity) -> {
+            stockMovementJournal.record(StockMovement.builder()
+                    .inventoryItem(inventoryItem)
+                    .movementType(StockMovement.MovementType.OUT)
+                    .quantity(-quantity)
+                    .previousStock(inventoryItem.getCurrentStock())
+                    .newStock(inventoryItem.getCurrentStock() - quantity)
+                    .reasonCode(StockMovement.ReasonCode.ORDER_SHIPMENT)
+                    .referenceType(StockMovement.ReferenceType.ORDER)
+                    .referenceId(order.getId())
+                    .build());
+            inventoryItem.setCurrentStock(inventoryItem.getCurrentStock() - quantity);
+            inventoryItem.setReservedStock(inventoryItem.getReservedStock() - quantity);
+        });
+    }
+
+    /**
+     * Give back what the order reserved on the locked rows and record a RELEASED movement per row.
+     */
+    private void releaseReservedStock(Order order, ReservedStock reserved, StockMovement.ReasonCode reasonCode) {
+        Map<InventoryItem, Integer> allocation = reserved.take(order);
+        allocation.forEach((inventoryItem, quantity) -> {
+            stockMovementJournal.record(StockMovement.builder()
+                    .inventoryItem(inventoryItem)
+                    .movementType(StockMovement.MovementType.RELEASED)
+                    .quantity(quantity)
+                    .previousStock(inventoryItem.getReservedStock())
+                    .newStock(inventoryItem.getReservedStock() - quantity)
+                    .reasonCode(reasonCode)
+                    .referenceType(StockMovement.ReferenceType.ORDER)
+                    .referenceId(order.getId())
+                    .build());
+            inventoryItem.setReservedStock(inventoryItem.getReservedStock() - quantity);
+        });
+    }
+
     private void processReturnItems(OrderReturn orderReturn, OrderReturnRequest returnRequest) {
         // Implementation for processing return items and restocking
         // This would involve creating OrderReturnItem records and updating inventory
         // Based on the return request details
     }
-
-    private String generateReturnNumber() {
-        // Simple return number generation - in production, use a more sophisticated approach
-        return "RET-" + System.currentTimeMillis();
-    }
 }
\ No newline at end of file
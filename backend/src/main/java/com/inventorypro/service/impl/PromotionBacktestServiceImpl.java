@@ -0,0 +1,218 @@
+package com.inventorypro.service.impl;
+
+import com.inventorypro.dto.request.PromotionBacktestRequest;
+import com.inventorypro.dto.response.PromotionBacktestResponse;
+import com.inventorypro.repository.OrderRepository;
+import com.inventorypro.service.*;
+import com.inventorypro.util.Money;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chunked, pipelined promotion backtest.
+ * Orders are read by id in keyset chunks, each in its own short read-only transaction, so no
+ * connection is held between chunks. While one chunk is evaluated on a dedicated fork-join pool
+ * the next one is read; at most two chunks are in memory. The draft is evaluated on its own,
+ * ignoring its dates and usage limit, and capped at the value of each order.
+ */
+@Service
+@Slf4j
+public class PromotionBacktestServiceImpl implements PromotionBacktestService {
+
+    private static final int HISTOGRAM_BUCKETS = 10;
+
+    private final PromotionService promotionService;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate readTransaction;
+    private final ForkJoinPool evaluationPool;
+    private final int chunkSize;
+
+    public PromotionBacktestServiceImpl(PromotionService promotionService,
+                                        OrderRepository orderRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${promotion-backtest.parallelism:0}") int parallelism,
+                                        @Value("${promotion-backtest.chunk-size:5000}") int chunkSize) {
+        this.promotionService = promotionService;
+        this.orderRepository = orderRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // Half the cores by default, leaving the rest to live traffic.
+        this.evaluationPool = new ForkJoinPool(parallelism > 0 ? parallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public PromotionBacktestResponse backtest(PromotionBacktestRequest request) {
+        if (!request.getTo().isAfter(request.getFrom())) {
+            throw new IllegalArgumentException("Backtest period must end after it starts");
+        }
+        long startedAt = System.nanoTime();
+        CompiledPromotion draft = promotionService.compileDraft(request.getPromotion());
+
+        Map<String, CurrencyTally> tallies = new TreeMap<>();
+        List<PricingCart> pendingCarts = null;
+        ForkJoinTask<long[]> pending = null;
+        long afterId = 0;
+        while (true) {
+            long cursor = afterId;
+            SortedMap<Long, PricingCart> chunk = readTransaction.execute(status ->
+                    orderRepository.findPricingCarts(request.getFrom(), request.getTo(), cursor, chunkSize));
+
+            if (pending != null) {
+                fold(pendingCarts, join(pending), tallies);
+            }
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+
+            afterId = chunk.lastKey();
+            List<PricingCart> carts = new ArrayList<>(chunk.values());
+            pending = evaluationPool.submit(() -> carts.parallelStream()
+                    .mapToLong(cart -> discount(draft, cart))
+                    .toArray());
+            pendingCarts = carts;
+        }
+
+        PromotionBacktestResponse response = new PromotionBacktestResponse();
+        response.setFrom(request.getFrom());
+        response.setTo(request.getTo());
+        for (Map.Entry<String, CurrencyTally> entry : tallies.entrySet()) {
+            PromotionBacktestResponse.CurrencyResult result = entry.getValue().toResult(entry.getKey());
+            response.getCurrencies().add(result);
+            response.setOrdersEvaluated(response.getOrdersEvaluated() + result.getOrdersEvaluated());
+            response.setOrdersAffected(response.getOrdersAffected() + result.getOrdersAffected());
+        }
+        response.setDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        log.info("Backtest of promotion '{}' over {} - {}: {} orders evaluated, {} affected in {} ms",
+                draft.getName(), request.getFrom(), request.getTo(), response.getOrdersEvaluated(),
+                response.getOrdersAffected(), response.getDurationMs());
+        return response;
+    }
+
+    /**
+     * Discount in minor units the draft alone would have given on the cart, limited to its lines and shipping.
+     */
+    private static long discount(CompiledPromotion draft, PricingCart cart) {
+        if (!draft.appliesTo(cart)) {
+            return 0;
+        }
+        PromotionApplication application = draft.apply(cart, new CartTally(cart));
+        if (application.isEmpty()) {
+            return 0;
+        }
+        long[] remainingLines = new long[cart.getLines().size()];
+        for (int i = 0; i < remainingLines.length; i++) {
+            remainingLines[i] = cart.getLines().get(i).getTotal().getMinorUnits();
+        }
+        return application.capped(remainingLines, new long[]{cart.getShippingFee().getMinorUnits()}).getTotalDiscountMinor();
+    }
+
+    private static void fold(List<PricingCart> carts, long[] discounts, Map<String, CurrencyTally> tallies) {
+        for (int i = 0; i < carts.size(); i++) {
+            PricingCart cart = carts.get(i);
+            String currency = cart.getCurrency() != null ? cart.getCurrency() : "";
+            tallies.computeIfAbsent(currency, c -> new CurrencyTally()).add(cart.getTotal().getMinorUnits(), discounts[i]);
+        }
+    }
+
+    private static <T> T join(ForkJoinTask<T> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Promotion backtest was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evaluationPool.shutdown();
+    }
+
+    /**
+     * Running totals for one currency, in minor units. Discounts of affected orders are kept
+     * (8 bytes per order) so percentiles are exact.
+     */
+    private static final class CurrencyTally {
+        private long evaluated;
+        private long revenue;
+        private long discount;
+        private long[] affected = new long[64];
+        private int affectedCount;
+
+        private void add(long orderTotal, long orderDiscount) {
+            evaluated++;
+            revenue = Math.addExact(revenue, orderTotal);
+            if (orderDiscount <= 0) {
+                return;
+            }
+            discount = Math.addExact(discount, orderDiscount);
+            if (affectedCount == affected.length) {
+                affected = Arrays.copyOf(affected, affected.length * 2);
+            }
+            affected[affectedCount++] = orderDiscount;
+        }
+
+        private PromotionBacktestResponse.CurrencyResult toResult(String currency) {
+            PromotionBacktestResponse.CurrencyResult result = new PromotionBacktestResponse.CurrencyResult();
+            result.setCurrency(currency);
+            result.setOrdersEvaluated(evaluated);
+            result.setOrdersAffected(affectedCount);
+            result.setRevenue(money(revenue));
+            result.setTotalDiscount(money(discount));
+            if (affectedCount == 0) {
+                return result;
+            }
+
+            long[] sorted = Arrays.copyOf(affected, affectedCount);
+            Arrays.sort(sorted);
+            result.setAverageDiscount(money(Money.divide(discount, affectedCount, RoundingMode.HALF_UP)));
+            result.setMedianDiscount(money(percentile(sorted, 50)));
+            result.setP90Discount(money(percentile(sorted, 90)));
+            result.setP99Discount(money(percentile(sorted, 99)));
+            result.setMaxDiscount(money(sorted[sorted.length - 1]));
+
+            long width = Math.max(1, (sorted[sorted.length - 1] + HISTOGRAM_BUCKETS - 1) / HISTOGRAM_BUCKETS);
+            long[] counts = new long[HISTOGRAM_BUCKETS];
+            for (long value : sorted) {
+                counts[(int) Math.min(HISTOGRAM_BUCKETS - 1, Math.max(0, value - 1) / width)]++;
+            }
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                result.getHistogram().add(new PromotionBacktestResponse.Bucket(
+                        money(i * width), money((i + 1) * width), counts[i]));
+            }
+            return result;
+        }
+
+        /**
+         * Nearest-rank percentile.
+         */
+        private static long percentile(long[] sorted, int percent) {
+            int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        private static BigDecimal money(long minorUnits) {
+            return Money.ofMinor(minorUnits, null).toBigDecimal();
+        }
+    }
+}
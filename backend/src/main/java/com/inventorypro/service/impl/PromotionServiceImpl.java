@@ -0,0 +1,101 @@
+package com.inventorypro.service.impl;
+
+import com.inventorypro.dto.request.PromotionRequest;
+import com.inventorypro.exception.ResourceNotFoundException;
+import com.inventorypro.model.Promotion;
+import com.inventorypro.model.PromotionRule;
+import com.inventorypro.repository.CategoryRepository;
+import com.inventorypro.repository.PromotionRepository;
+import com.inventorypro.service.CompiledPromotion;
+import com.inventorypro.service.PromotionCompiler;
+import com.inventorypro.service.PromotionService;
+import com.inventorypro.service.PromotionsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class PromotionServiceImpl implements PromotionService {
+
+    private final PromotionRepository promotionRepository;
+    private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Promotion> getAllPromotions() {
+        return promotionRepository.findAllWithRules();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Promotion getPromotion(Long id) {
+        return promotionRepository.findByIdWithRules(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Promotion", "id", id));
+    }
+
+    @Override
+    public Promotion createPromotion(PromotionRequest request) {
+        Promotion promotion = new Promotion();
+        apply(promotion, request);
+        Promotion saved = promotionRepository.save(promotion);
+        eventPublisher.publishEvent(new PromotionsChangedEvent(saved.getId()));
+        return saved;
+    }
+
+    @Override
+    public Promotion updatePromotion(Long id, PromotionRequest request) {
+        Promotion promotion = getPromotion(id);
+        apply(promotion, request);
+        eventPublisher.publishEvent(new PromotionsChangedEvent(id));
+        return promotion;
+    }
+
+    @Override
+    public void deletePromotion(Long id) {
+        Promotion promotion = getPromotion(id);
+        promotionRepository.delete(promotion);
+        eventPublisher.publishEvent(new PromotionsChangedEvent(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompiledPromotion compileDraft(PromotionRequest request) {
+        return apply(new Promotion(), request);
+    }
+
+    private CompiledPromotion apply(Promotion promotion, PromotionRequest request) {
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("Promotion ends before it starts");
+        }
+        promotion.setName(request.getName());
+        promotion.setDescription(request.getDescription());
+        promotion.setType(request.getType());
+        promotion.setStartDate(request.getStartDate());
+        promotion.setEndDate(request.getEndDate());
+        promotion.setUsageLimit(request.getUsageLimit());
+        promotion.setActive(request.getActive() == null || request.getActive());
+        promotion.setExclusivityGroup(request.getExclusivityGroup() != null && !request.getExclusivityGroup().isBlank()
+                ? request.getExclusivityGroup().trim() : null);
+        promotion.setExclusive(Boolean.TRUE.equals(request.getExclusive()));
+
+        promotion.getRules().clear();
+        for (PromotionRequest.Rule ruleRequest : request.getRules()) {
+            PromotionRule rule = new PromotionRule();
+            rule.setPromotion(promotion);
+            rule.setRuleType(ruleRequest.getRuleType());
+            rule.setRuleData(ruleRequest.getRuleData());
+            rule.setPriority(ruleRequest.getPriority() != null ? ruleRequest.getPriority() : 0);
+            promotion.getRules().add(rule);
+        }
+
+        // Throws IllegalArgumentException for rules the engine could not evaluate.
+        return PromotionCompiler.compile(promotion, PromotionCompiler.Categories.of(categoryRepository.findCategoryTree()));
+    }
+}
@@ -0,0 +1,222 @@
+package com.inventorypro.service.impl;
+
+import com.inventorypro.dto.request.PurchaseOrderReceiptRequest;
+import com.inventorypro.dto.response.PurchaseOrderReceiptResponse;
+import com.inventorypro.exception.ResourceNotFoundException;
+import com.inventorypro.model.InventoryItem;
+import com.inventorypro.model.PurchaseOrder;
+import com.inventorypro.model.PurchaseOrderItem;
+import com.inventorypro.model.StockMovement;
+import com.inventorypro.repository.InventoryItemRepository;
+import com.inventorypro.repository.PurchaseOrderItemRepository;
+import com.inventorypro.repository.PurchaseOrderRepository;
+import com.inventorypro.service.PurchaseOrderReceivingService;
+import com.inventorypro.service.StockMovementJournal;
+import com.inventorypro.util.CsvUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Set-based goods receipt.
+ * The delivery is reduced to one quantity per SKU before any row is touched; the booking then
+ * locks the purchase order, loads its lines and the warehouse's inventory rows in one query each,
+ * and lets Hibernate batch the updates while the IN movements go through the journal's batch insert.
+ * Scan streams are read outside the transaction so a slow scanner never holds locks.
+ */
+@Service
+@Slf4j
+public class PurchaseOrderReceivingServiceImpl implements PurchaseOrderReceivingService {
+
+    private static final Set<PurchaseOrder.PurchaseOrderStatus> RECEIVABLE = EnumSet.of(
+            PurchaseOrder.PurchaseOrderStatus.ORDERED, PurchaseOrder.PurchaseOrderStatus.PARTIALLY_RECEIVED);
+
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final PurchaseOrderItemRepository purchaseOrderItemRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final StockMovementJournal stockMovementJournal;
+    private final TransactionTemplate receiptTransaction;
+
+    public PurchaseOrderReceivingServiceImpl(PurchaseOrderRepository purchaseOrderRepository,
+                                             PurchaseOrderItemRepository purchaseOrderItemRepository,
+                                             InventoryItemRepository inventoryItemRepository,
+                                             StockMovementJournal stockMovementJournal,
+                                             PlatformTransactionManager transactionManager) {
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.purchaseOrderItemRepository = purchaseOrderItemRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.stockMovementJournal = stockMovementJournal;
+        this.receiptTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public PurchaseOrderReceiptResponse receive(Long purchaseOrderId, PurchaseOrderReceiptRequest request) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (PurchaseOrderReceiptRequest.Line line : request.getLines()) {
+            quantities.merge(line.getSku().trim(), line.getQuantity(), Math::addExact);
+        }
+        return book(purchaseOrderId, request.getWarehouse().trim(), quantities);
+    }
+
+    @Override
+    public PurchaseOrderReceiptResponse receiveScans(Long purchaseOrderId, String warehouse, InputStream scans) throws IOException {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(scans, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = CsvUtils.parseLine(line);
+            String sku = fields.get(0).trim();
+            int quantity = 1;
+            if (fields.size() > 1 && !fields.get(1).isBlank()) {
+                try {
+                    quantity = Integer.parseInt(fields.get(1).trim());
+                } catch (NumberFormatException e) {
+                    quantity = 0;
+                }
+            }
+            if (sku.isEmpty() || quantity < 1) {
+                throw new IllegalArgumentException("Invalid scan on line " + lineNumber + ": " + line);
+            }
+            quantities.merge(sku, quantity, Math::addExact);
+        }
+        if (quantities.isEmpty()) {
+            throw new IllegalArgumentException("No scans received");
+        }
+        return book(purchaseOrderId, warehouse.trim(), quantities);
+    }
+
+    private PurchaseOrderReceiptResponse book(Long purchaseOrderId, String warehouse, Map<String, Integer> quantities) {
+        PurchaseOrderReceiptResponse response = receiptTransaction.execute(status ->
+                applyReceipt(purchaseOrderId, warehouse, quantities));
+        log.info("Received {} units of {} SKUs on purchase order {} into {} ({} rejected)",
+                response.getUnitsReceived(), response.getSkusReceived(), response.getPoNumber(),
+                warehouse, response.getRejected().size());
+        return response;
+    }
+
+    private PurchaseOrderReceiptResponse applyReceipt(Long purchaseOrderId, String warehouse, Map<String, Integer> quantities) {
+        PurchaseOrder purchaseOrder = purchaseOrderRepository.findByIdForUpdate(purchaseOrderId)
+                .orElseThrow(() -> new ResourceNotFoundException("PurchaseOrder", "id", purchaseOrderId));
+        if (!RECEIVABLE.contains(purchaseOrder.getStatus())) {
+            throw new IllegalStateException("Purchase order must be ORDERED or PARTIALLY_RECEIVED to receive goods, was "
+                    + purchaseOrder.getStatus());
+        }
+
+        List<PurchaseOrderItem> orderLines = purchaseOrderItemRepository.findByPurchaseOrderId(purchaseOrderId);
+        Map<String, List<PurchaseOrderItem>> linesBySku = new HashMap<>();
+        for (PurchaseOrderItem orderLine : orderLines) {
+            linesBySku.computeIfAbsent(orderLine.getSku(), sku -> new ArrayList<>()).add(orderLine);
+        }
+
+        PurchaseOrderReceiptResponse response = new PurchaseOrderReceiptResponse();
+        response.setPurchaseOrderId(purchaseOrder.getId());
+        response.setPoNumber(purchaseOrder.getPoNumber());
+        response.setWarehouse(warehouse);
+
+        // Match the delivery to open lines; a SKU ordered on several lines fills them in line order.
+        Map<String, Integer> accepted = new LinkedHashMap<>();
+        Map<String, PurchaseOrderItem> firstLineBySku = new HashMap<>();
+        quantities.forEach((sku, delivered) -> {
+            List<PurchaseOrderItem> candidates = linesBySku.get(sku);
+            if (candidates == null) {
+                response.addRejected(sku, delivered, "not on this purchase order");
+                return;
+            }
+            int remaining = delivered;
+            for (PurchaseOrderItem orderLine : candidates) {
+                int outstanding = orderLine.getQuantity() - receivedQuantity(orderLine);
+                int take = Math.min(outstanding, remaining);
+                if (take > 0) {
+                    orderLine.setReceivedQuantity(receivedQuantity(orderLine) + take);
+                    remaining -= take;
+                }
+            }
+            if (remaining > 0) {
+                response.addRejected(sku, remaining, "more than the quantity still outstanding");
+            }
+            if (delivered > remaining) {
+                accepted.put(sku, delivered - remaining);
+                firstLineBySku.put(sku, candidates.get(0));
+            }
+        });
+
+        if (!accepted.isEmpty()) {
+            Map<String, InventoryItem> inventoryBySku = new HashMap<>();
+            for (InventoryItem inventoryItem : inventoryItemRepository.findBySkuInAndWarehouseForUpdate(accepted.keySet(), warehouse)) {
+                inventoryBySku.put(inventoryItem.getSku(), inventoryItem);
+            }
+            response.setInventoryItemsCreated(createMissingInventory(accepted.keySet(), firstLineBySku, warehouse, inventoryBySku));
+
+            accepted.forEach((sku, quantity) -> {
+                InventoryItem inventoryItem = inventoryBySku.get(sku);
+                int previousStock = inventoryItem.getCurrentStock();
+                inventoryItem.setCurrentStock(previousStock + quantity);
+                stockMovementJournal.record(StockMovement.builder()
+                        .inventoryItem(inventoryItem)
+                        .movementType(StockMovement.MovementType.IN)
+                        .quantity(quantity)
+                        .previousStock(previousStock)
+                        .newStock(previousStock + quantity)
+                        .reasonCode(StockMovement.ReasonCode.PURCHASE_RECEIPT)
+                        .referenceType(StockMovement.ReferenceType.PURCHASE_ORDER)
+                        .referenceId(purchaseOrder.getId())
+                        .reason("PO " + purchaseOrder.getPoNumber())
+                        .build());
+                response.setSkusReceived(response.getSkusReceived() + 1);
+                response.setUnitsReceived(response.getUnitsReceived() + quantity);
+            });
+        }
+
+        boolean complete = orderLines.stream().allMatch(orderLine -> receivedQuantity(orderLine) >= orderLine.getQuantity());
+        if (complete) {
+            purchaseOrder.setStatus(PurchaseOrder.PurchaseOrderStatus.COMPLETED);
+        } else if (response.getUnitsReceived() > 0) {
+            purchaseOrder.setStatus(PurchaseOrder.PurchaseOrderStatus.PARTIALLY_RECEIVED);
+        }
+        response.setStatus(purchaseOrder.getStatus());
+        return response;
+    }
+
+    /**
+     * First delivery of a SKU into this warehouse: open an inventory row for it.
+     */
+    private int createMissingInventory(Set<String> skus, Map<String, PurchaseOrderItem> firstLineBySku,
+                                       String warehouse, Map<String, InventoryItem> inventoryBySku) {
+        List<InventoryItem> created = new ArrayList<>();
+        for (String sku : skus) {
+            if (inventoryBySku.containsKey(sku)) {
+                continue;
+            }
+            PurchaseOrderItem orderLine = firstLineBySku.get(sku);
+            created.add(InventoryItem.builder()
+                    .product(orderLine.getProduct())
+                    .variant(orderLine.getVariant())
+                    .sku(sku)
+                    .warehouse(warehouse)
+                    .currentStock(0)
+                    .reservedStock(0)
+                    .build());
+        }
+        for (InventoryItem inventoryItem : inventoryItemRepository.saveAll(created)) {
+            inventoryBySku.put(inventoryItem.getSku(), inventoryItem);
+        }
+        return created.size();
+    }
+
+    private int receivedQuantity(PurchaseOrderItem orderLine) {
+        return orderLine.getReceivedQuantity() != null ? orderLine.getReceivedQuantity() : 0;
+    }
+}
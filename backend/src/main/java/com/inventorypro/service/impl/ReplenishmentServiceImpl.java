@@ -0,0 +1,237 @@
+package com.inventorypro.service.impl;
+
+import com.inventorypro.dto.response.ReplenishmentPlanResponse;
+import com.inventorypro.model.PurchaseOrder;
+import com.inventorypro.model.PurchaseOrderItem;
+import com.inventorypro.model.Supplier;
+import com.inventorypro.repository.*;
+import com.inventorypro.service.ReplenishmentService;
+import com.inventorypro.util.OrderNumberGenerator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Velocity-based replenishment.
+ * Sales, stock positions and open purchase quantities are each read in one grouped query;
+ * the per-SKU projection is pure arithmetic on those rows and runs on a dedicated fork-join pool.
+ *
+ * A SKU is reordered when its days of cover (available + on order - reorderLevel, divided by
+ * daily velocity) no longer reach the supplier's lead time. The quantity brings it back to
+ * lead time + target cover days of demand on top of the reorder level, which acts as safety stock.
+ */
+@Service
+@Slf4j
+public class ReplenishmentServiceImpl implements ReplenishmentService {
+
+    private final OrderItemRepository orderItemRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final PurchaseOrderItemRepository purchaseOrderItemRepository;
+    private final SupplierRepository supplierRepository;
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository productVariantRepository;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final ForkJoinPool planningPool;
+    private final int velocityWindowDays;
+    private final int targetCoverDays;
+    private final int defaultLeadTimeDays;
+
+    public ReplenishmentServiceImpl(OrderItemRepository orderItemRepository,
+                                    InventoryItemRepository inventoryItemRepository,
+                                    PurchaseOrderRepository purchaseOrderRepository,
+                                    PurchaseOrderItemRepository purchaseOrderItemRepository,
+                                    SupplierRepository supplierRepository,
+                                    ProductRepository productRepository,
+                                    ProductVariantRepository productVariantRepository,
+                                    OrderNumberGenerator orderNumberGenerator,
+                                    @Value("${replenishment.parallelism:0}") int parallelism,
+                                    @Value("${replenishment.velocity-window-days:28}") int velocityWindowDays,
+                                    @Value("${replenishment.target-cover-days:14}") int targetCoverDays,
+                                    @Value("${replenishment.default-lead-time-days:7}") int defaultLeadTimeDays) {
+        this.orderItemRepository = orderItemRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.purchaseOrderItemRepository = purchaseOrderItemRepository;
+        this.supplierRepository = supplierRepository;
+        this.productRepository = productRepository;
+        this.productVariantRepository = productVariantRepository;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.planningPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.velocityWindowDays = velocityWindowDays;
+        this.targetCoverDays = targetCoverDays;
+        this.defaultLeadTimeDays = defaultLeadTimeDays;
+    }
+
+    @Override
+    @Transactional
+    public ReplenishmentPlanResponse plan(boolean draft) {
+        long startedAt = System.nanoTime();
+        LocalDate today = LocalDate.now();
+
+        Map<String, Long> unitsSold = toQuantityBySku(
+                orderItemRepository.getUnitsSoldBySkuSince(today.minusDays(velocityWindowDays).atStartOfDay()));
+        Map<String, Long> onOrder = toQuantityBySku(purchaseOrderItemRepository.getOpenQuantityBySku());
+        Map<Long, Supplier> suppliers = supplierRepository.findAll().stream()
+                .filter(supplier -> !Boolean.FALSE.equals(supplier.getActive()))
+                .collect(Collectors.toMap(Supplier::getId, supplier -> supplier));
+        Map<Long, Integer> leadTimes = new HashMap<>();
+        suppliers.forEach((id, supplier) -> leadTimes.put(id,
+                supplier.getLeadTimeDays() != null ? supplier.getLeadTimeDays() : defaultLeadTimeDays));
+        List<Object[]> positions = inventoryItemRepository.getReplenishmentPositions();
+
+        List<Proposal> proposals = propose(positions, unitsSold, onOrder, leadTimes);
+
+        ReplenishmentPlanResponse response = new ReplenishmentPlanResponse();
+        response.setDrafted(draft);
+        response.setSkusEvaluated(positions.size());
+
+        Map<Long, List<Proposal>> bySupplier = new TreeMap<>();
+        for (Proposal proposal : proposals) {
+            if (proposal.supplierId() == null) {
+                response.setSkusWithoutSupplier(response.getSkusWithoutSupplier() + 1);
+            } else {
+                bySupplier.computeIfAbsent(proposal.supplierId(), id -> new ArrayList<>()).add(proposal);
+                response.setSkusToReorder(response.getSkusToReorder() + 1);
+            }
+        }
+
+        bySupplier.forEach((supplierId, lines) -> {
+            lines.sort(Comparator.comparing(Proposal::sku));
+            Supplier supplier = suppliers.get(supplierId);
+            PurchaseOrder purchaseOrder = draft ? draftPurchaseOrder(supplier, leadTimes.get(supplierId), lines, today) : null;
+            response.getPurchaseOrders().add(new ReplenishmentPlanResponse.SupplierDraft(
+                    supplierId,
+                    supplier.getName(),
+                    purchaseOrder != null ? purchaseOrder.getId() : null,
+                    purchaseOrder != null ? purchaseOrder.getPoNumber() : null,
+                    lines.size(),
+                    lines.stream().mapToLong(Proposal::quantity).sum(),
+                    totalCost(lines)));
+        });
+
+        response.setDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        log.info("Replenishment evaluated {} SKUs in {} ms: {} to reorder across {} suppliers, {} without a supplier{}",
+                response.getSkusEvaluated(), response.getDurationMs(), response.getSkusToReorder(),
+                bySupplier.size(), response.getSkusWithoutSupplier(), draft ? " (drafted)" : "");
+        return response;
+    }
+
+    private List<Proposal> propose(List<Object[]> positions, Map<String, Long> unitsSold,
+                                   Map<String, Long> onOrder, Map<Long, Integer> leadTimes) {
+        try {
+            return planningPool.submit(() -> positions.parallelStream()
+                    .map(row -> propose(row, unitsSold, onOrder, leadTimes))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replenishment planning was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Row: sku, productId, variantId, productName, cost, supplierId, available, reorderLevel.
+     * Returns null when the SKU still has enough cover.
+     */
+    private Proposal propose(Object[] row, Map<String, Long> unitsSold,
+                             Map<String, Long> onOrder, Map<Long, Integer> leadTimes) {
+        String sku = (String) row[0];
+        Long supplierId = (Long) row[5];
+        long available = ((Number) row[6]).longValue();
+        long reorderLevel = ((Number) row[7]).longValue();
+
+        // An inactive or missing supplier still reports the SKU, just without a supplier.
+        Integer leadTime = supplierId != null ? leadTimes.get(supplierId) : null;
+        int leadTimeDays = leadTime != null ? leadTime : defaultLeadTimeDays;
+        double dailyVelocity = unitsSold.getOrDefault(sku, 0L) / (double) velocityWindowDays;
+        long position = available + onOrder.getOrDefault(sku, 0L);
+
+        double daysOfCover = dailyVelocity > 0
+                ? (position - reorderLevel) / dailyVelocity
+                : (position > reorderLevel ? Double.POSITIVE_INFINITY : 0);
+        if (daysOfCover > leadTimeDays) {
+            return null;
+        }
+
+        long target = (long) Math.ceil(dailyVelocity * (leadTimeDays + targetCoverDays)) + reorderLevel;
+        long quantity = Math.min(target - position, Integer.MAX_VALUE);
+        if (quantity <= 0) {
+            return null;
+        }
+        return new Proposal(sku, (Long) row[1], (Long) row[2], (String) row[3], (BigDecimal) row[4],
+                leadTime != null ? supplierId : null, (int) quantity);
+    }
+
+    private PurchaseOrder draftPurchaseOrder(Supplier supplier, int leadTimeDays, List<Proposal> lines, LocalDate today) {
+        PurchaseOrder purchaseOrder = purchaseOrderRepository.save(PurchaseOrder.builder()
+                .poNumber(orderNumberGenerator.generatePurchaseOrderNumber())
+                .supplier(supplier)
+                .orderDate(today)
+                .expectedDeliveryDate(today.plusDays(leadTimeDays))
+                .status(PurchaseOrder.PurchaseOrderStatus.DRAFT)
+                .totalCost(totalCost(lines))
+                .notes("Drafted by replenishment for " + lines.size() + " SKUs below " + leadTimeDays + " days of cover")
+                .build());
+
+        List<PurchaseOrderItem> items = new ArrayList<>(lines.size());
+        for (Proposal line : lines) {
+            items.add(PurchaseOrderItem.builder()
+                    .purchaseOrder(purchaseOrder)
+                    .product(productRepository.getReferenceById(line.productId()))
+                    .variant(line.variantId() != null ? productVariantRepository.getReferenceById(line.variantId()) : null)
+                    .productName(line.productName())
+                    .sku(line.sku())
+                    .quantity(line.quantity())
+                    .costPrice(line.cost())
+                    .build());
+        }
+        purchaseOrderItemRepository.batchInsert(items);
+        return purchaseOrder;
+    }
+
+    private BigDecimal totalCost(List<Proposal> lines) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Proposal line : lines) {
+            if (line.cost() != null) {
+                total = total.add(line.cost().multiply(BigDecimal.valueOf(line.quantity())));
+            }
+        }
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private Map<String, Long> toQuantityBySku(List<Object[]> rows) {
+        Map<String, Long> quantities = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            if (row[0] != null && row[1] != null) {
+                quantities.put((String) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        return quantities;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        planningPool.shutdown();
+    }
+
+    private record Proposal(String sku, Long productId, Long variantId, String productName,
+                            BigDecimal cost, Long supplierId, int quantity) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.inventorypro.service.impl;
+
+import com.inventorypro.model.StockMovement;
+import com.inventorypro.model.StockMovementSummary;
+import com.inventorypro.repository.StockMovementRepository;
+import com.inventorypro.repository.StockMovementSummaryRepository;
+import com.inventorypro.service.StockArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class StockArchiveServiceImpl implements StockArchiveService {
+
+    private final StockMovementRepository stockMovementRepository;
+    private final StockMovementSummaryRepository stockMovementSummaryRepository;
+
+    @Override
+    public int archiveBatch(LocalDateTime horizon, int batchSize) {
+        List<StockMovement> movements = stockMovementRepository.findArchivable(horizon, PageRequest.of(0, batchSize));
+        if (movements.isEmpty()) {
+            return 0;
+        }
+
+        // Move first: if any of the rows was archived concurrently, the batch is rolled back before it is summarized twice.
+        List<Long> ids = movements.stream().map(StockMovement::getId).toList();
+        int moved = stockMovementRepository.moveToArchive(ids, LocalDateTime.now());
+        if (moved != ids.size()) {
+            throw new IllegalStateException("Archived " + moved + " of " + ids.size()
+                    + " stock movements; another run archived the rest, rolling the batch back");
+        }
+
+        compact(movements);
+        return moved;
+    }
+
+    /**
+     * Fold the batch into the monthly summaries. Batches arrive oldest first, so a summary's
+     * opening stock is set by its first batch and its closing stock by the latest one.
+     */
+    private void compact(List<StockMovement> movements) {
+        Set<Long> itemIds = new HashSet<>();
+        Set<LocalDate> periods = new HashSet<>();
+        for (StockMovement movement : movements) {
+            itemIds.add(movement.getInventoryItem().getId());
+            periods.add(periodOf(movement));
+        }
+
+        Map<SummaryKey, StockMovementSummary> summaries = new HashMap<>();
+        for (StockMovementSummary summary : stockMovementSummaryRepository.findByInventoryItemIdInAndPeriodStartIn(itemIds, periods)) {
+            summaries.put(new SummaryKey(summary.getInventoryItemId(), summary.getPeriodStart()), summary);
+        }
+
+        for (StockMovement movement : movements) {
+            Long itemId = movement.getInventoryItem().getId();
+            LocalDate period = periodOf(movement);
+            StockMovementSummary summary = summaries.computeIfAbsent(new SummaryKey(itemId, period),
+                    key -> StockMovementSummary.builder().inventoryItemId(itemId).periodStart(period).build());
+
+            summary.setMovementCount(summary.getMovementCount() + 1);
+            if (!movement.getMovementType().affectsOnHand()) {
+                continue;
+            }
+            if (summary.getOpeningStock() == null) {
+                summary.setOpeningStock(movement.getPreviousStock());
+            }
+            summary.setClosingStock(movement.getNewStock());
+
+            int delta = movement.getNewStock() - movement.getPreviousStock();
+            if (delta > 0) {
+                summary.setQuantityIn(summary.getQuantityIn() + delta);
+            } else {
+                summary.setQuantityOut(summary.getQuantityOut() - delta);
+            }
+        }
+
+        stockMovementSummaryRepository.saveAll(summaries.values());
+    }
+
+    private static LocalDate periodOf(StockMovement movement) {
+        return movement.getCreatedAt().toLocalDate().withDayOfMonth(1);
+    }
+
+    private record SummaryKey(Long inventoryItemId, LocalDate periodStart) {
+    }
+}
@@ -0,0 +1,332 @@
+package com.inventorypro.service.impl;
+
+import com.inventorypro.dto.response.StocktakeResult;
+import com.inventorypro.model.InventoryItem;
+import com.inventorypro.model.StockMovement;
+import com.inventorypro.repository.InventoryItemRepository;
+import com.inventorypro.repository.InventoryItemRepositoryCustom.StockRow;
+import com.inventorypro.service.StockMovementJournal;
+import com.inventorypro.service.StocktakeService;
+import com.inventorypro.util.CsvUtils;
+import com.inventorypro.util.ExternalLineSorter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Sort-merge stocktake reconciliation.
+ * The count file is sorted by (sku, warehouse) in bounded memory, then merged against an
+ * inventory cursor in the same order, writing every difference to the variance report.
+ * Corrections are applied afterwards from the report in small locked batches, so a file that
+ * fails half way through the merge changes nothing. A count below what confirmed orders have
+ * reserved is reported as BELOW_RESERVED and never applied.
+ */
+@Service
+@Slf4j
+public class StocktakeServiceImpl implements StocktakeService {
+
+    private static final String REPORT_HEADER =
+            "status,inventory_item_id,sku,warehouse,system_quantity,counted_quantity,variance,note";
+    private static final char KEY_SEPARATOR = '\t';
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final StockMovementJournal stockMovementJournal;
+    private final TransactionTemplate batchTransaction;
+    private final int sortChunkSize;
+    private final int applyBatchSize;
+
+    public StocktakeServiceImpl(InventoryItemRepository inventoryItemRepository,
+                                StockMovementJournal stockMovementJournal,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${stocktake.sort-chunk-size:50000}") int sortChunkSize,
+                                @Value("${stocktake.apply-batch-size:500}") int applyBatchSize) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.stockMovementJournal = stockMovementJournal;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.sortChunkSize = sortChunkSize;
+        this.applyBatchSize = applyBatchSize;
+    }
+
+    @Override
+    public StocktakeResult reconcile(InputStream csv, boolean apply, Path reportPath) throws IOException {
+        StocktakeResult result = new StocktakeResult();
+
+        try (ExternalLineSorter sorter = new ExternalLineSorter(sortChunkSize);
+             BufferedWriter report = Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8)) {
+            report.write(REPORT_HEADER);
+            report.newLine();
+
+            Set<String> warehouses = new TreeSet<>();
+            readCounts(csv, sorter, warehouses, report, result);
+            merge(sorter.sorted(), warehouses, report, result);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (apply && result.getVariances() > 0) {
+            applyVariances(reportPath, result);
+        }
+
+        log.info("Stocktake: {} lines, {} variances (net {}), {} below reserved, {} unknown, {} not counted, {} applied",
+                result.getLinesRead(), result.getVariances(), result.getNetVariance(), result.getBelowReserved(),
+                result.getUnknownItems(), result.getNotCounted(), result.getApplied());
+        return result;
+    }
+
+    /**
+     * Validate the file line by line and feed "sku TAB warehouse TAB quantity TAB line number" keys to
+     * the sorter; a tab sorts before any printable character, so line order equals (sku, warehouse) order.
+     */
+    private void readCounts(InputStream csv, ExternalLineSorter sorter, Set<String> warehouses,
+                            BufferedWriter report, StocktakeResult result) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = CsvUtils.parseLine(line);
+            if (lineNumber == 1 && fields.get(0).trim().equalsIgnoreCase("sku")) {
+                continue;
+            }
+            result.setLinesRead(result.getLinesRead() + 1);
+
+            String problem = null;
+            String sku = fields.get(0).trim();
+            String warehouse = fields.size() > 1 ? fields.get(1).trim() : "";
+            long counted = 0;
+            if (fields.size() < 3) {
+                problem = "expected sku,warehouse,counted_quantity";
+            } else if (sku.isEmpty() || warehouse.isEmpty()
+                    || sku.indexOf(KEY_SEPARATOR) >= 0 || warehouse.indexOf(KEY_SEPARATOR) >= 0) {
+                problem = "missing or invalid sku/warehouse";
+            } else {
+                String quantity = fields.get(2).trim();
+                try {
+                    counted = Long.parseLong(quantity);
+                    if (counted < 0) {
+                        problem = "negative quantity";
+                    } else if (counted > Integer.MAX_VALUE) {
+                        problem = "quantity above " + Integer.MAX_VALUE;
+                    }
+                } catch (NumberFormatException e) {
+                    problem = quantity.matches("\\d+") ? "quantity above " + Integer.MAX_VALUE : "invalid quantity";
+                }
+            }
+
+            if (problem != null) {
+                result.setInvalidLines(result.getInvalidLines() + 1);
+                writeRow(report, "INVALID", null, sku, warehouse, null, null, "line " + lineNumber + ": " + problem);
+                continue;
+            }
+            warehouses.add(warehouse);
+            sorter.add(sku + KEY_SEPARATOR + warehouse + KEY_SEPARATOR + counted + KEY_SEPARATOR + lineNumber);
+        }
+    }
+
+    private void merge(Iterator<String> sortedCounts, Set<String> warehouses,
+                       BufferedWriter report, StocktakeResult result) {
+        CountCursor counts = new CountCursor(sortedCounts);
+        String[] previousKey = {null};
+
+        inventoryItemRepository.streamStockBySkuAndWarehouse(warehouses, item -> {
+            String key = item.sku() + KEY_SEPARATOR + item.warehouse();
+            if (previousKey[0] != null && previousKey[0].compareTo(key) > 0) {
+                throw new IllegalStateException("Inventory cursor is not in the count file's sort order " +
+                        "(check the collation of sku/warehouse); nothing was applied");
+            }
+            previousKey[0] = key;
+
+            while (counts.key != null && counts.key.compareTo(key) < 0) {
+                unknown(counts, report, result);
+                counts.advance();
+            }
+
+            if (counts.key != null && counts.key.equals(key)) {
+                if (counts.quantity > Integer.MAX_VALUE) {
+                    tooLarge(item, counts, report, result);
+                } else {
+                    compare(item, counts.quantity, report, result);
+                }
+                counts.advance();
+            } else {
+                result.setNotCounted(result.getNotCounted() + 1);
+                writeRow(report, "NOT_COUNTED", item.inventoryItemId(), item.sku(), item.warehouse(),
+                        item.currentStock(), null, null);
+            }
+        });
+
+        while (counts.key != null) {
+            unknown(counts, report, result);
+            counts.advance();
+        }
+    }
+
+    private void compare(StockRow item, long counted, BufferedWriter report, StocktakeResult result) {
+        result.setItemsCounted(result.getItemsCounted() + 1);
+        long variance = counted - item.currentStock();
+        if (variance == 0) {
+            result.setMatched(result.getMatched() + 1);
+            return;
+        }
+        result.setNetVariance(result.getNetVariance() + variance);
+        if (counted < item.reservedStock()) {
+            result.setBelowReserved(result.getBelowReserved() + 1);
+            writeRow(report, "BELOW_RESERVED", item.inventoryItemId(), item.sku(), item.warehouse(),
+                    item.currentStock(), counted, item.reservedStock() + " reserved by confirmed orders; not applied");
+            return;
+        }
+        result.setVariances(result.getVariances() + 1);
+        writeRow(report, "VARIANCE", item.inventoryItemId(), item.sku(), item.warehouse(),
+                item.currentStock(), counted, null);
+    }
+
+    /**
+     * Repeated lines whose sum does not fit a stock level; reported against the lines and not applied.
+     */
+    private void tooLarge(StockRow item, CountCursor counts, BufferedWriter report, StocktakeResult result) {
+        result.setInvalidLines(result.getInvalidLines() + 1);
+        writeRow(report, "INVALID", item.inventoryItemId(), item.sku(), item.warehouse(), item.currentStock(), counts.quantity,
+                "lines " + counts.lineNumbers + ": counted quantities add up to more than " + Integer.MAX_VALUE);
+    }
+
+    private void unknown(CountCursor counts, BufferedWriter report, StocktakeResult result) {
+        result.setUnknownItems(result.getUnknownItems() + 1);
+        writeRow(report, "UNKNOWN_ITEM", null, counts.sku, counts.warehouse, null, counts.quantity,
+                "no inventory item for this sku in this warehouse");
+    }
+
+    private void writeRow(BufferedWriter report, String status, Long inventoryItemId, String sku, String warehouse,
+                          Integer systemQuantity, Long countedQuantity, String note) {
+        String variance = systemQuantity != null && countedQuantity != null
+                ? String.valueOf(countedQuantity - systemQuantity) : "";
+        try {
+            report.write(status + "," +
+                    (inventoryItemId != null ? inventoryItemId : "") + "," +
+                    CsvUtils.escape(sku) + "," +
+                    CsvUtils.escape(warehouse) + "," +
+                    (systemQuantity != null ? systemQuantity : "") + "," +
+                    (countedQuantity != null ? countedQuantity : "") + "," +
+                    variance + "," +
+                    CsvUtils.escape(note));
+            report.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Re-read the VARIANCE rows of the report and set the counted quantities in batches,
+     * each batch locking its rows in its own transaction.
+     */
+    private void applyVariances(Path reportPath, StocktakeResult result) throws IOException {
+        Map<Long, Integer> batch = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(reportPath, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<String> fields = CsvUtils.parseLine(line);
+                if (!"VARIANCE".equals(fields.get(0))) {
+                    continue;
+                }
+                batch.put(Long.parseLong(fields.get(1)), Integer.parseInt(fields.get(5)));
+                if (batch.size() >= applyBatchSize) {
+                    result.setApplied(result.getApplied() + applyBatch(batch, result));
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            result.setApplied(result.getApplied() + applyBatch(batch, result));
+        }
+    }
+
+    /**
+     * Reservations may have grown since the merge, so a count below the reserved stock is
+     * checked again under the lock and skipped.
+     */
+    private int applyBatch(Map<Long, Integer> countedById, StocktakeResult result) {
+        Integer applied = batchTransaction.execute(status -> {
+            int changed = 0;
+            for (InventoryItem inventoryItem : inventoryItemRepository.findByIdInForUpdate(countedById.keySet())) {
+                int previousStock = inventoryItem.getCurrentStock();
+                int counted = countedById.get(inventoryItem.getId());
+                if (counted == previousStock) {
+                    continue;
+                }
+                if (counted < inventoryItem.getReservedStock()) {
+                    log.warn("Stocktake count {} for inventory item {} is below its reserved stock {}; not applied",
+                            counted, inventoryItem.getId(), inventoryItem.getReservedStock());
+                    result.setBelowReserved(result.getBelowReserved() + 1);
+                    continue;
+                }
+                inventoryItem.setCurrentStock(counted);
+                stockMovementJournal.record(StockMovement.builder()
+                        .inventoryItem(inventoryItem)
+                        .movementType(StockMovement.MovementType.ADJUSTMENT)
+                        .quantity(counted - previousStock)
+                        .previousStock(previousStock)
+                        .newStock(counted)
+                        .reasonCode(StockMovement.ReasonCode.STOCKTAKE)
+                        .referenceType(StockMovement.ReferenceType.ADJUSTMENT)
+                        .referenceId(inventoryItem.getId())
+                        .build());
+                changed++;
+            }
+            return changed;
+        });
+        return applied != null ? applied : 0;
+    }
+
+    /**
+     * Sorted counts with repeated (sku, warehouse) lines summed, e.g. one item counted in two aisles.
+     * Each line is at most Integer.MAX_VALUE, so the sum is held as a long and checked before it is used.
+     */
+    private static final class CountCursor {
+        private final Iterator<String> lines;
+        private String pending;
+        private String key;
+        private String sku;
+        private String warehouse;
+        private long quantity;
+        private StringJoiner lineNumbers;
+
+        private CountCursor(Iterator<String> lines) {
+            this.lines = lines;
+            this.pending = lines.hasNext() ? lines.next() : null;
+            advance();
+        }
+
+        private void advance() {
+            if (pending == null) {
+                key = null;
+                return;
+            }
+            int first = pending.indexOf(KEY_SEPARATOR);
+            int second = pending.indexOf(KEY_SEPARATOR, first + 1);
+            key = pending.substring(0, second);
+            sku = pending.substring(0, first);
+            warehouse = pending.substring(first + 1, second);
+            quantity = 0;
+            lineNumbers = new StringJoiner(", ");
+
+            while (pending != null && pending.startsWith(key) && pending.charAt(key.length()) == KEY_SEPARATOR) {
+                int third = pending.indexOf(KEY_SEPARATOR, key.length() + 1);
+                quantity += Long.parseLong(pending.substring(key.length() + 1, third));
+                lineNumbers.add(pending.substring(third + 1));
+                pending = lines.hasNext() ? lines.next() : null;
+            }
+        }
+    }
+}
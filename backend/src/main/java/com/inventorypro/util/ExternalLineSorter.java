@@ -0,0 +1,107 @@
+package com.inventorypro.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Sorts an arbitrary number of text lines in bounded memory.
+ * Lines are buffered up to the chunk size, sorted and spilled to temporary files, then read
+ * back through a k-way merge. Input that fits in one chunk never touches the disk.
+ * Lines must not contain line breaks.
+ */
+public class ExternalLineSorter implements Closeable {
+
+    private final int chunkSize;
+    private final List<String> buffer = new ArrayList<>();
+    private final List<Path> spills = new ArrayList<>();
+    private final List<BufferedReader> readers = new ArrayList<>();
+
+    public ExternalLineSorter(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public void add(String line) throws IOException {
+        buffer.add(line);
+        if (buffer.size() >= chunkSize) {
+            spill();
+        }
+    }
+
+    /**
+     * All added lines in natural String order. Call once, after the last add.
+     */
+    public Iterator<String> sorted() throws IOException {
+        if (spills.isEmpty()) {
+            Collections.sort(buffer);
+            return buffer.iterator();
+        }
+        spill();
+
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing((Head head) -> head.line));
+        for (Path spill : spills) {
+            BufferedReader reader = Files.newBufferedReader(spill, StandardCharsets.UTF_8);
+            readers.add(reader);
+            String first = reader.readLine();
+            if (first != null) {
+                heads.add(new Head(first, reader));
+            }
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public String next() {
+                Head head = heads.poll();
+                if (head == null) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    String following = head.reader.readLine();
+                    if (following != null) {
+                        heads.add(new Head(following, head.reader));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return head.line;
+            }
+        };
+    }
+
+    private void spill() throws IOException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        Collections.sort(buffer);
+        Path spill = Files.createTempFile("sort-chunk-", ".txt");
+        spills.add(spill);
+        try (BufferedWriter writer = Files.newBufferedWriter(spill, StandardCharsets.UTF_8)) {
+            for (String line : buffer) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (BufferedReader reader : readers) {
+            reader.close();
+        }
+        for (Path spill : spills) {
+            Files.deleteIfExists(spill);
+        }
+        buffer.clear();
+    }
+
+    private record Head(String line, BufferedReader reader) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.inventorypro.util;
+
+import java.util.*;
+
+/**
+ * Hashed timer wheel keyed by an identifier.
+ * Scheduling and cancelling are O(1); advancing only visits the buckets of the ticks that
+ * elapsed, so cost tracks the number of timers due rather than the number outstanding.
+ * Deadlines further out than one revolution simply stay in their bucket until their tick comes round.
+ */
+public class HashedTimerWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Map<K, Long>> buckets;
+    private final Map<K, Long> deadlineTicks = new HashMap<>();
+    private long currentTick;
+
+    public HashedTimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new HashMap<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule or reschedule a key. Deadlines in the past fire on the next advance.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick);
+        buckets.get((int) (tick & mask)).put(key, tick);
+        deadlineTicks.put(key, tick);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Long tick = deadlineTicks.remove(key);
+        if (tick == null) {
+            return false;
+        }
+        buckets.get((int) (tick & mask)).remove(key);
+        return true;
+    }
+
+    /**
+     * Move the wheel up to the given time and return every key whose deadline has passed.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        if (targetTick < currentTick) {
+            return Collections.emptyList();
+        }
+
+        List<K> expired = new ArrayList<>();
+        long ticksToVisit = Math.min(targetTick - currentTick + 1, buckets.size());
+        for (long i = 0; i < ticksToVisit; i++) {
+            Iterator<Map.Entry<K, Long>> iterator = buckets.get((int) ((currentTick + i) & mask)).entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, Long> entry = iterator.next();
+                if (entry.getValue() <= targetTick) {
+                    expired.add(entry.getKey());
+                    deadlineTicks.remove(entry.getKey());
+                    iterator.remove();
+                }
+            }
+        }
+        currentTick = targetTick + 1;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return deadlineTicks.size();
+    }
+}
@@ -0,0 +1,164 @@
+package com.inventorypro.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * An amount of money as a whole number of minor units (hundredths, the scale of every money
+ * column) in a currency.
+ * Sums and multiples are exact long arithmetic and throw on overflow; anything that can produce
+ * a fraction of a minor unit takes an explicit RoundingMode. BigDecimal is only used to convert
+ * where amounts are read from or written to entities, rows and DTOs.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    private final long minorUnits;
+    private final String currency;
+
+    private Money(long minorUnits, String currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    public static Money ofMinor(long minorUnits, String currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money zero(String currency) {
+        return new Money(0, currency);
+    }
+
+    public static Money of(BigDecimal amount, String currency, RoundingMode rounding) {
+        return new Money(toMinor(amount, rounding), currency);
+    }
+
+    /**
+     * The amount in minor units, rounded to a whole minor unit with the given mode.
+     */
+    public static long toMinor(BigDecimal amount, RoundingMode rounding) {
+        return amount.setScale(SCALE, rounding).unscaledValue().longValueExact();
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public Money plus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(long quantity) {
+        return new Money(Math.multiplyExact(minorUnits, quantity), currency);
+    }
+
+    public Money times(Rate rate, RoundingMode rounding) {
+        return new Money(multiplyDivide(minorUnits, rate.numerator(), rate.denominator(), rounding), currency);
+    }
+
+    public Money min(Money other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    public Money max(Money other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public String toPlainString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money money && minorUnits == money.minorUnits && Objects.equals(currency, money.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + Objects.hashCode(currency);
+    }
+
+    @Override
+    public String toString() {
+        return currency != null ? toPlainString() + " " + currency : toPlainString();
+    }
+
+    private void checkCurrency(Money other) {
+        if (!Objects.equals(currency, other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    /**
+     * value * numerator / denominator, rounded once. Only a product that overflows a long goes through BigDecimal.
+     */
+    public static long multiplyDivide(long value, long numerator, long denominator, RoundingMode rounding) {
+        long high = Math.multiplyHigh(value, numerator);
+        long low = value * numerator;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return divide(low, denominator, rounding);
+        }
+        return BigDecimal.valueOf(value).multiply(BigDecimal.valueOf(numerator))
+                .divide(BigDecimal.valueOf(denominator), 0, rounding).longValueExact();
+    }
+
+    /**
+     * dividend / divisor rounded to a whole number with the given mode, as BigDecimal would round it.
+     */
+    public static long divide(long dividend, long divisor, RoundingMode rounding) {
+        if (divisor <= 0) {
+            throw new ArithmeticException("Divisor must be positive: " + divisor);
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        int sign = dividend < 0 ? -1 : 1;
+        long absRemainder = Math.abs(remainder);
+        int half = Long.compare(absRemainder, divisor - absRemainder);
+        boolean awayFromZero;
+        switch (rounding) {
+            case UP: awayFromZero = true; break;
+            case DOWN: awayFromZero = false; break;
+            case CEILING: awayFromZero = sign > 0; break;
+            case FLOOR: awayFromZero = sign < 0; break;
+            case HALF_UP: awayFromZero = half >= 0; break;
+            case HALF_DOWN: awayFromZero = half > 0; break;
+            case HALF_EVEN: awayFromZero = half > 0 || (half == 0 && (quotient & 1) != 0); break;
+            default: throw new ArithmeticException("Rounding necessary");
+        }
+        return awayFromZero ? quotient + sign : quotient;
+    }
+}
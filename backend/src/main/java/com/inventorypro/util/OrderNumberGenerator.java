@@ -1,17 +1,144 @@
 package com.inventorypro.util;
 
-import java.time.LocalDateTime;
+import com.inventorypro.model.NumberSequence;
+import com.inventorypro.repository.NumberSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Cluster-safe document number generator (hi/lo).
+ * Each series leases a block of values from {@code number_sequences} in its own transaction
+ * and hands them out from memory, so nodes only coordinate once per block and numbers
+ * survive restarts. Unused values of a block are skipped, never reused.
+ * Format: {@code PREFIX-yyyyMMdd-NNNNNN}; the sequence is global, the date is informational.
+ */
+@Component
+@Slf4j
 public class OrderNumberGenerator {
-    
-    private static final AtomicLong counter = new AtomicLong(1);
-    private static final String PREFIX = "ORD";
-    
-    public static String generate() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long sequence = counter.getAndIncrement();
-        return String.format("%s-%s-%04d", PREFIX, timestamp, sequence % 10000);
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int MIN_SEQUENCE_DIGITS = 6;
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    private final NumberSequenceRepository sequenceRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final Clock clock;
+    private final ZoneId zone;
+    private final long blockSize;
+
+    private final Series orderSeries = new Series("ORD");
+    private final Series returnSeries = new Series("RET");
+    private final Series purchaseOrderSeries = new Series("PO");
+
+    public OrderNumberGenerator(NumberSequenceRepository sequenceRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${order-number.block-size:100}") long blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = Clock.systemDefaultZone();
+        this.zone = clock.getZone();
+        this.blockSize = blockSize;
+    }
+
+    public String generate() {
+        return orderSeries.next();
+    }
+
+    public String generateReturnNumber() {
+        return returnSeries.next();
+    }
+
+    public String generatePurchaseOrderNumber() {
+        return purchaseOrderSeries.next();
+    }
+
+    /**
+     * Reserve [start, start + blockSize) for this node. Runs in its own transaction so the
+     * lease is committed even if the caller's transaction rolls back; otherwise another
+     * node could lease the same block again.
+     */
+    private long leaseBlock(String sequenceName) {
+        for (int attempt = 1; attempt <= MAX_LEASE_ATTEMPTS; attempt++) {
+            try {
+                Long start = leaseTransaction.execute(status -> {
+                    if (sequenceRepository.advance(sequenceName, blockSize) == 0) {
+                        sequenceRepository.saveAndFlush(NumberSequence.builder()
+                                .name(sequenceName)
+                                .nextValue(1 + blockSize)
+                                .build());
+                        return 1L;
+                    }
+                    return sequenceRepository.findNextValue(sequenceName) - blockSize;
+                });
+                log.debug("Leased {} block [{}, {})", sequenceName, start, start + blockSize);
+                return start;
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the series first; advance it instead.
+                log.debug("Concurrent creation of sequence {}, retrying lease", sequenceName);
+            }
+        }
+        throw new IllegalStateException("Could not lease a block for sequence " + sequenceName);
+    }
+
+    private final class Series {
+        private final String name;
+        private long next;
+        private long limit;
+        private long dayStartMillis;
+        private long dayEndMillis = Long.MIN_VALUE;
+        private String datePrefix;
+
+        private Series(String name) {
+            this.name = name;
+        }
+
+        synchronized String next() {
+            if (next >= limit) {
+                next = leaseBlock(name);
+                limit = next + blockSize;
+            }
+            long sequence = next++;
+
+            String prefix = currentPrefix();
+            StringBuilder number = new StringBuilder(prefix.length() + 20).append(prefix);
+            for (int digits = digitCount(sequence); digits < MIN_SEQUENCE_DIGITS; digits++) {
+                number.append('0');
+            }
+            return number.append(sequence).toString();
+        }
+
+        /**
+         * "PREFIX-yyyyMMdd-", rebuilt only when the day rolls over.
+         */
+        private String currentPrefix() {
+            long now = clock.millis();
+            if (now < dayStartMillis || now >= dayEndMillis) {
+                LocalDate today = LocalDate.now(clock);
+                dayStartMillis = today.atStartOfDay(zone).toInstant().toEpochMilli();
+                dayEndMillis = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+                datePrefix = name + "-" + today.format(DATE_FORMAT) + "-";
+            }
+            return datePrefix;
+        }
+
+        private int digitCount(long value) {
+            int digits = 1;
+            while (value >= 10) {
+                value /= 10;
+                digits++;
+            }
+            return digits;
+        }
     }
-}
\ No newline at end of file
+}
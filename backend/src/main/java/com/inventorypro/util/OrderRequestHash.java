@@ -0,0 +1,58 @@
+package com.inventorypro.util;
+
+import com.inventorypro.dto.request.OrderItemRequest;
+import com.inventorypro.dto.request.OrderRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * SHA-256 of an order request in canonical form, used to tie an Idempotency-Key to the body it was first sent with.
+ * Lines are sorted, so the same order sent with its lines in another order hashes the same.
+ */
+public final class OrderRequestHash {
+
+    private static final Comparator<OrderItemRequest> LINE_ORDER = Comparator
+            .comparing(OrderItemRequest::getProductId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(OrderItemRequest::getVariantId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(OrderItemRequest::getQuantity, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private OrderRequestHash() {
+    }
+
+    public static String of(OrderRequest request) {
+        StringBuilder canonical = new StringBuilder()
+                .append("customer=").append(request.getCustomerId())
+                .append("\nchannel=").append(request.getChannel())
+                .append("\ncurrency=").append(request.getCurrency())
+                .append("\nnotes=").append(quote(request.getNotes()));
+        List<OrderItemRequest> items = request.getItems() == null ? List.of() : request.getItems().stream()
+                .filter(Objects::nonNull)
+                .sorted(LINE_ORDER)
+                .toList();
+        for (OrderItemRequest item : items) {
+            canonical.append("\nitem=").append(item.getProductId())
+                    .append('/').append(item.getVariantId())
+                    .append('x').append(item.getQuantity());
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Length-prefixed so free text cannot imitate the following fields.
+     */
+    private static String quote(String value) {
+        return value == null ? "null" : value.length() + ":" + value;
+    }
+}
@@ -0,0 +1,36 @@
+package com.inventorypro.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact fraction applied to money, e.g. a percentage discount: 12.5% is 125/1000.
+ */
+public record Rate(long numerator, long denominator) {
+
+    public static final Rate ONE = new Rate(1, 1);
+
+    public Rate {
+        if (denominator <= 0 || numerator < 0) {
+            throw new IllegalArgumentException("Invalid rate: " + numerator + "/" + denominator);
+        }
+    }
+
+    /**
+     * Throws ArithmeticException if the percentage has too many digits to be held exactly.
+     */
+    public static Rate ofPercentage(BigDecimal percentage) {
+        BigDecimal normalized = percentage.stripTrailingZeros();
+        if (normalized.scale() < 0) {
+            normalized = normalized.setScale(0);
+        }
+        return new Rate(normalized.unscaledValue().longValueExact(),
+                BigDecimal.valueOf(100).scaleByPowerOfTen(normalized.scale()).longValueExact());
+    }
+
+    public String toPercentString() {
+        return BigDecimal.valueOf(numerator).movePointRight(2)
+                .divide(BigDecimal.valueOf(denominator), 4, RoundingMode.HALF_UP)
+                .stripTrailingZeros().toPlainString();
+    }
+}
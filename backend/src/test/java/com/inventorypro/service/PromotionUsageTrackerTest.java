@@ -0,0 +1,97 @@
+package com.inventorypro.service;
+
+import com.inventorypro.model.Promotion;
+import com.inventorypro.repository.PromotionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two nodes sharing one promotions row: the limit is never passed, and the last units are not
+ * lost while another node holds them leased.
+ */
+class PromotionUsageTrackerTest {
+
+    private static final int LIMIT = 10;
+
+    private final AtomicInteger usageCount = new AtomicInteger();
+    private final CompiledPromotion promotion = new CompiledPromotion(1L, "Last units", Promotion.PromotionType.PERCENTAGE_DISCOUNT,
+            null, null, LIMIT, 0, null, false, List.of(), null);
+
+    private PromotionUsageTracker nodeA;
+    private PromotionUsageTracker nodeB;
+
+    @BeforeEach
+    void setUp() {
+        PromotionRepository repository = mock(PromotionRepository.class);
+        when(repository.findUsage(anyLong())).thenAnswer(invocation ->
+                List.<Object[]>of(new Object[]{usageCount.get(), LIMIT}));
+        when(repository.incrementUsage(anyLong(), anyInt())).thenAnswer(invocation -> {
+            int quantity = invocation.getArgument(1);
+            int current = usageCount.get();
+            return current + quantity <= LIMIT && usageCount.compareAndSet(current, current + quantity) ? 1 : 0;
+        });
+        when(repository.decrementUsage(anyLong(), anyInt())).thenAnswer(invocation -> {
+            int quantity = invocation.getArgument(1);
+            int current = usageCount.get();
+            return current >= quantity && usageCount.compareAndSet(current, current - quantity) ? 1 : 0;
+        });
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        // Nothing counts as idle, so allowances are only returned on shutdown.
+        nodeA = new PromotionUsageTracker(repository, transactionManager, new SimpleMeterRegistry(), 50, Long.MAX_VALUE / 2);
+        nodeB = new PromotionUsageTracker(repository, transactionManager, new SimpleMeterRegistry(), 50, Long.MAX_VALUE / 2);
+    }
+
+    @Test
+    void neverPassesTheLimit() {
+        int granted = 0;
+        for (int i = 0; i < LIMIT * 2; i++) {
+            if ((i % 2 == 0 ? nodeA : nodeB).tryAcquire(promotion)) {
+                granted++;
+            }
+        }
+
+        nodeA.shutdown();
+        nodeB.shutdown();
+        assertThat(granted).isEqualTo(LIMIT);
+        assertThat(usageCount.get()).isEqualTo(LIMIT);
+    }
+
+    @Test
+    void lastUnitLeasedByAnotherNodeCanStillBeUsed() {
+        // Node A leases part of the limit and uses one unit; B takes everything else.
+        assertThat(nodeA.tryAcquire(promotion)).isTrue();
+        int usedByB = 0;
+        while (nodeB.tryAcquire(promotion)) {
+            usedByB++;
+        }
+        assertThat(usageCount.get()).isEqualTo(LIMIT);
+        assertThat(nodeB.isExhausted(promotion.getId())).isTrue();
+        // A's leased allowance is still usable, so the promotion is not exhausted there.
+        assertThat(nodeA.isExhausted(promotion.getId())).isFalse();
+
+        // A stops and gives its unused units back; B picks them up after its next flush.
+        nodeA.shutdown();
+        assertThat(usageCount.get()).isLessThan(LIMIT);
+        nodeB.flush();
+        int usedAfterReturn = 0;
+        while (nodeB.tryAcquire(promotion)) {
+            usedAfterReturn++;
+        }
+
+        assertThat(1 + usedByB + usedAfterReturn).isEqualTo(LIMIT);
+        assertThat(usageCount.get()).isEqualTo(LIMIT);
+        assertThat(nodeB.tryAcquire(promotion)).isFalse();
+    }
+}
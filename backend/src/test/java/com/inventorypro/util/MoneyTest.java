@@ -0,0 +1,175 @@
+package com.inventorypro.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Randomized checks of the fixed-point arithmetic against BigDecimal, for every RoundingMode.
+ * Inputs mix small amounts with values near Long.MAX_VALUE so the overflow fallback is exercised.
+ */
+class MoneyTest {
+
+    private static final int ITERATIONS = 20_000;
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private final long seed = System.nanoTime();
+    private final Random random = new Random(seed);
+
+    @Test
+    void multiplyDivideMatchesBigDecimal() {
+        for (RoundingMode rounding : RoundingMode.values()) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                long value = randomLong();
+                long numerator = randomLong();
+                long denominator = randomPositiveLong();
+                BigDecimal exact = BigDecimal.valueOf(value).multiply(BigDecimal.valueOf(numerator))
+                        .divide(BigDecimal.valueOf(denominator), 40, RoundingMode.DOWN);
+                String input = value + " * " + numerator + " / " + denominator + " " + rounding;
+                assertMatches(expected(() -> BigDecimal.valueOf(value).multiply(BigDecimal.valueOf(numerator))
+                                .divide(BigDecimal.valueOf(denominator), 0, rounding)),
+                        () -> Money.multiplyDivide(value, numerator, denominator, rounding), input, exact);
+            }
+        }
+    }
+
+    @Test
+    void multiplyDivideTakesTheOverflowPath() {
+        long value = Long.MAX_VALUE - 7;
+        for (RoundingMode rounding : RoundingMode.values()) {
+            if (rounding == RoundingMode.UNNECESSARY) {
+                continue;
+            }
+            // The product overflows a long but the quotient fits.
+            long result = Money.multiplyDivide(value, 3, 4, rounding);
+            long expected = BigDecimal.valueOf(value).multiply(BigDecimal.valueOf(3))
+                    .divide(BigDecimal.valueOf(4), 0, rounding).longValueExact();
+            assertThat(result).as("seed %d, %s", seed, rounding).isEqualTo(expected);
+        }
+        assertThatThrownBy(() -> Money.multiplyDivide(Long.MAX_VALUE, 2, 1, RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void divideMatchesBigDecimal() {
+        for (RoundingMode rounding : RoundingMode.values()) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                long dividend = randomLong();
+                long divisor = randomPositiveLong();
+                String input = dividend + " / " + divisor + " " + rounding;
+                assertMatches(expected(() -> BigDecimal.valueOf(dividend)
+                                .divide(BigDecimal.valueOf(divisor), 0, rounding)),
+                        () -> Money.divide(dividend, divisor, rounding), input, null);
+            }
+        }
+        assertThatThrownBy(() -> Money.divide(1, 0, RoundingMode.HALF_UP)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.divide(1, -3, RoundingMode.HALF_UP)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void ofAndToMinorMatchBigDecimal() {
+        for (RoundingMode rounding : RoundingMode.values()) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                BigDecimal amount = new BigDecimal(BigInteger.valueOf(randomLong()), random.nextInt(7));
+                String input = amount.toPlainString() + " " + rounding;
+                BigDecimal rounded = expected(() -> amount.movePointRight(Money.SCALE).setScale(0, rounding));
+                if (rounded == null) {
+                    assertThatThrownBy(() -> Money.toMinor(amount, rounding)).as(input)
+                            .isInstanceOf(ArithmeticException.class);
+                    continue;
+                }
+                BigInteger expected = rounded.toBigIntegerExact();
+                if (expected.compareTo(LONG_MIN) < 0 || expected.compareTo(LONG_MAX) > 0) {
+                    assertThatThrownBy(() -> Money.of(amount, "USD", rounding)).as(input)
+                            .isInstanceOf(ArithmeticException.class);
+                    continue;
+                }
+                Money money = Money.of(amount, "USD", rounding);
+                assertThat(Money.toMinor(amount, rounding)).as(input).isEqualTo(expected.longValueExact());
+                assertThat(money.getMinorUnits()).as(input).isEqualTo(expected.longValueExact());
+                assertThat(money.toBigDecimal()).as(input)
+                        .isEqualByComparingTo(amount.setScale(Money.SCALE, rounding));
+            }
+        }
+    }
+
+    @Test
+    void ofPercentageMatchesBigDecimal() {
+        for (RoundingMode rounding : RoundingMode.values()) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                BigDecimal percentage = new BigDecimal(BigInteger.valueOf(random.nextInt(100_001)), random.nextInt(5))
+                        .setScale(random.nextInt(7), RoundingMode.DOWN);
+                Rate rate = Rate.ofPercentage(percentage);
+                String input = percentage.toPlainString() + "% " + rounding;
+                assertThat(BigDecimal.valueOf(rate.numerator())
+                        .divide(BigDecimal.valueOf(rate.denominator()), 20, RoundingMode.UNNECESSARY))
+                        .as(input)
+                        .isEqualByComparingTo(percentage.movePointLeft(2));
+
+                long minor = randomLong();
+                Money money = Money.ofMinor(minor, "USD");
+                BigDecimal exact = BigDecimal.valueOf(minor).multiply(percentage).movePointLeft(2);
+                assertMatches(expected(() -> exact.setScale(0, rounding)),
+                        () -> money.times(rate, rounding).getMinorUnits(), minor + " at " + input, exact);
+            }
+        }
+        assertThatThrownBy(() -> Rate.ofPercentage(new BigDecimal("-5"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Rate.ofPercentage(new BigDecimal("1.0000000000000000000001")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    /**
+     * The BigDecimal result, or null if BigDecimal itself refuses to round (UNNECESSARY on an inexact value).
+     */
+    private static BigDecimal expected(Supplier<BigDecimal> computation) {
+        try {
+            return computation.get();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The long result must equal the BigDecimal one when that fits a long, and throw ArithmeticException otherwise.
+     */
+    private void assertMatches(BigDecimal expected, Supplier<Long> actual, String input, BigDecimal exact) {
+        String description = "seed " + seed + ": " + input + (exact != null ? " (exact " + exact.toPlainString() + ")" : "");
+        if (expected == null || expected.toBigInteger().compareTo(LONG_MIN) < 0
+                || expected.toBigInteger().compareTo(LONG_MAX) > 0) {
+            assertThatThrownBy(actual::get).as(description).isInstanceOf(ArithmeticException.class);
+        } else {
+            assertThat(actual.get()).as(description).isEqualTo(expected.longValueExact());
+        }
+    }
+
+    /**
+     * Mostly amounts of everyday size, with a share of extremes and values close to the long range limits.
+     */
+    private long randomLong() {
+        return switch (random.nextInt(6)) {
+            case 0 -> random.nextInt(201) - 100;
+            case 1 -> random.nextInt(20_000_001) - 10_000_000;
+            case 2 -> random.nextLong();
+            case 3 -> Long.MAX_VALUE - random.nextInt(1_000);
+            case 4 -> Long.MIN_VALUE + random.nextInt(1_000);
+            default -> (random.nextBoolean() ? 1 : -1) * (random.nextLong() >>> random.nextInt(64));
+        };
+    }
+
+    private long randomPositiveLong() {
+        return switch (random.nextInt(4)) {
+            case 0 -> 1 + random.nextInt(10);
+            case 1 -> 1 + random.nextInt(1_000_000);
+            case 2 -> Long.MAX_VALUE - random.nextInt(1_000);
+            default -> 1 + (random.nextLong() >>> (1 + random.nextInt(63)));
+        };
+    }
+}